@@ -49,6 +49,8 @@
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.event.RegisteredListener;
+import org.spongepowered.common.event.SpongeEventManager;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -59,6 +61,7 @@
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URL;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.zip.GZIPOutputStream;
@@ -178,6 +181,38 @@ static void reportTimings(CommandSource sender) {
             ).build();
         }));
 
+        // Asynchronous task executions per plugin
+
+        builder.add("scheduler", JSONUtil.mapArrayToObject(SpongeImpl.getScheduler().getAsyncTaskStats(), (stats) -> {
+            return JSONUtil.singleObjectPair(stats.getOwner().getId(), JSONUtil.objectBuilder()
+                    .add("queued", stats.getQueued())
+                    .add("running", stats.getRunning())
+                    .add("rejected", stats.getRejected())
+                    .add("completed", stats.getCompleted())
+                    .add("p50", stats.getRunTimePercentile(0.5))
+                    .add("p99", stats.getRunTimePercentile(0.99))
+                    .build());
+        }));
+
+        // Event listener latencies, if tracked
+
+        if (SpongeImpl.getGlobalConfig().getConfig().getEventListeners().isLatencyTracking()) {
+            final List<RegisteredListener<?>> listeners = ((SpongeEventManager) Sponge.getEventManager()).getRegisteredListeners();
+            listeners.removeIf(listener -> listener.getLatency().getCount() == 0);
+            builder.add("listeners", JSONUtil.mapArray(listeners, (listener) -> {
+                return JSONUtil.objectBuilder()
+                        .add("plugin", listener.getPlugin().getId())
+                        .add("listener", listener.getHandle().getClass().getName())
+                        .add("event", listener.getEventClass().getName())
+                        .add("order", listener.getOrder().name())
+                        .add("calls", listener.getLatency().getCount())
+                        .add("p50", listener.getLatency().getPercentile(0.5))
+                        .add("p99", listener.getLatency().getPercentile(0.99))
+                        .add("p999", listener.getLatency().getPercentile(0.999))
+                        .build();
+            }));
+        }
+
         // Information on the users Config
 
         builder.add("config", JSONUtil.objectBuilder()
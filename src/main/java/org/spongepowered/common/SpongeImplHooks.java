@@ -199,6 +199,11 @@ public static void registerPortalAgentType(@Nullable Teleporter teleporter) {
         // Overwritten in SpongeForge
     }
 
+    public static boolean canSaveChunksOffThread() {
+        // Overwritten in SpongeForge, where mods extend the chunk data
+        return true;
+    }
+
     // World provider
 
     public static boolean canDoLightning(WorldProvider provider, net.minecraft.world.chunk.Chunk chunk) {
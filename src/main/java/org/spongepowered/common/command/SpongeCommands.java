@@ -48,6 +48,7 @@
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.command.CommandCallable;
@@ -84,12 +85,19 @@
 import org.spongepowered.common.config.type.GlobalConfig;
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.event.EventObserverExecutor;
+import org.spongepowered.common.event.ListenerLatency;
+import org.spongepowered.common.event.RegisteredListener;
+import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.interfaces.world.IMixinDimensionType;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.scheduler.PluginTaskStats;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.WorldManager;
 
@@ -137,6 +145,8 @@ public static CommandSpec createSpongeCommand() {
         nonFlagChildren.register(createSpongePluginsCommand(), "plugins");
         nonFlagChildren.register(createSpongeTimingsCommand(), "timings");
         nonFlagChildren.register(createSpongeWhichCommand(), "which");
+        nonFlagChildren.register(createSpongeSchedulerCommand(), "scheduler");
+        nonFlagChildren.register(createSpongeListenersCommand(), "listeners");
         flagChildren.register(createSpongeChunksCommand(), "chunks");
         flagChildren.register(createSpongeConfigCommand(), "config");
         flagChildren.register(createSpongeReloadCommand(), "reload"); // TODO: Should these two be subcommands of config, and what is now config be set?
@@ -158,6 +168,8 @@ INDENT, title("audit"), LONG_INDENT, "Audit mixin classes for implementation\n",
                         INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins\n",
                         INDENT, title("which"), LONG_INDENT, "List plugins that own a specific command\n",
                         INDENT, title("tps"), LONG_INDENT, "Provides TPS (ticks per second) data for loaded worlds\n",
+                        INDENT, title("scheduler"), LONG_INDENT, "Provides asynchronous task statistics per plugin\n",
+                        INDENT, title("listeners"), LONG_INDENT, "Lists the event listeners with the highest latency\n",
                         SpongeImplHooks.getAdditionalCommandDescriptions()))
                 .arguments(firstParsing(nonFlagChildren, flags()
                         .flag("-global", "g")
@@ -685,6 +697,60 @@ private static CommandSpec createSpongeWhichCommand() {
                 .build();
     }
 
+    private static CommandSpec createSpongeSchedulerCommand() {
+        return CommandSpec.builder()
+                .permission("sponge.command.scheduler")
+                .description(Text.of("Provides asynchronous task statistics per plugin."))
+                .executor((src, args) -> {
+                    final Collection<PluginTaskStats> allStats = SpongeImpl.getScheduler().getAsyncTaskStats();
+                    if (allStats.isEmpty()) {
+                        src.sendMessage(Text.of("No asynchronous tasks have been executed yet."));
+                        return CommandResult.empty();
+                    }
+                    for (PluginTaskStats stats : allStats) {
+                        src.sendMessage(Text.of("Plugin [", TextColors.DARK_GREEN, stats.getOwner().getId(), TextColors.RESET, "] Queued: ",
+                                TextColors.LIGHT_PURPLE, stats.getQueued(), TextColors.RESET, ", Running: ", TextColors.LIGHT_PURPLE,
+                                stats.getRunning(), TextColors.RESET, ", Rejected: ", TextColors.RED, stats.getRejected(), TextColors.RESET,
+                                ", p50: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(stats.getRunTimePercentile(0.5)), "ms",
+                                TextColors.RESET, ", p99: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(stats.getRunTimePercentile(0.99)),
+                                "ms"));
+                    }
+                    return CommandResult.success();
+                })
+                .build();
+    }
+
+    private static CommandSpec createSpongeListenersCommand() {
+        return CommandSpec.builder()
+                .permission("sponge.command.listeners")
+                .description(Text.of("Lists the event listeners with the highest p99 latency."))
+                .executor((src, args) -> {
+                    if (!SpongeImpl.getGlobalConfig().getConfig().getEventListeners().isLatencyTracking()) {
+                        src.sendMessage(Text.of("Please enable 'event-listeners.latency-tracking' in the global config"));
+                        return CommandResult.empty();
+                    }
+                    final List<RegisteredListener<?>> listeners = ((SpongeEventManager) Sponge.getEventManager()).getRegisteredListeners();
+                    listeners.removeIf(listener -> listener.getLatency().getCount() == 0);
+                    if (listeners.isEmpty()) {
+                        src.sendMessage(Text.of("No event listeners have been called yet."));
+                        return CommandResult.empty();
+                    }
+                    listeners.sort(Comparator.comparingDouble((RegisteredListener<?> listener) -> listener.getLatency().getPercentile(0.99))
+                            .reversed());
+                    for (RegisteredListener<?> listener : listeners.subList(0, Math.min(10, listeners.size()))) {
+                        final ListenerLatency latency = listener.getLatency();
+                        src.sendMessage(Text.of("Plugin [", TextColors.DARK_GREEN, listener.getPlugin().getId(), TextColors.RESET, "] ",
+                                listener.getHandle().getClass().getSimpleName(), " (", listener.getEventClass().getSimpleName(), ") Calls: ",
+                                TextColors.LIGHT_PURPLE, latency.getCount(), TextColors.RESET,
+                                ", p50: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(latency.getPercentile(0.5)), "ms",
+                                TextColors.RESET, ", p99: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(latency.getPercentile(0.99)),
+                                "ms"));
+                    }
+                    return CommandResult.success();
+                })
+                .build();
+    }
+
     private static CommandSpec createSpongeTpsCommand() {
         return CommandSpec.builder()
                 .permission("sponge.command.tps")
@@ -708,20 +774,52 @@ private static CommandSpec createSpongeTpsCommand() {
                             THREE_DECIMAL_DIGITS_FORMATTER.format(Math.min(1000.0 / (serverMeanTickTime), 20)),
                             TextColors.RESET, ", Mean: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.
                                     format(serverMeanTickTime), "ms"));
+                    final EventObserverExecutor observerExecutor = ((SpongeEventManager) Sponge.getEventManager()).getObserverExecutor();
+                    if (observerExecutor.isActive()) {
+                        src.sendMessage(Text.of("Pending observed events: ", TextColors.RED, observerExecutor.getPendingEvents(),
+                                TextColors.RESET, ", Dropped: ", TextColors.RED, observerExecutor.getDroppedEvents()));
+                        printObserverTimes(src);
+                    }
                     return CommandResult.success();
                 })
                 .build();
     }
 
+    private static void printObserverTimes(CommandSource src) {
+        final List<RegisteredListener<?>> observers = ((SpongeEventManager) Sponge.getEventManager()).getRegisteredListeners();
+        observers.removeIf(listener -> !listener.isObserver() || listener.getObserverCalls() == 0);
+        observers.sort(Comparator.comparingLong((RegisteredListener<?> listener) -> listener.getObserverTime()).reversed());
+        for (RegisteredListener<?> observer : observers.subList(0, Math.min(10, observers.size()))) {
+            final double totalTime = observer.getObserverTime() * 1.0e-6d;
+            src.sendMessage(Text.of("Observer [", TextColors.DARK_GREEN, observer.getPlugin().getId(), TextColors.RESET, "] ",
+                    observer.getHandle().getClass().getSimpleName(), " (", observer.getEventClass().getSimpleName(), ") Calls: ",
+                    TextColors.LIGHT_PURPLE, observer.getObserverCalls(), TextColors.RESET,
+                    ", Total: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(totalTime), "ms",
+                    TextColors.RESET, ", Mean: ", TextColors.RED,
+                    THREE_DECIMAL_DIGITS_FORMATTER.format(totalTime / observer.getObserverCalls()), "ms"));
+        }
+    }
+
     private static void printWorldTickTime(CommandSource src, World world) {
         final long[] worldTickTimes = ((IMixinMinecraftServer) SpongeImpl.getServer()).
                 getWorldTickTimes(((IMixinWorldServer) world).getDimensionId());
         final double worldMeanTickTime = mean(worldTickTimes) * 1.0e-6d;
         final double worldTps = Math.min(1000.0 / worldMeanTickTime, 20);
-        src.sendMessage(Text.of("World [", TextColors.DARK_GREEN, world.getName(), TextColors.RESET, "] (DIM",
+        final Text.Builder builder = Text.builder().append(Text.of("World [", TextColors.DARK_GREEN, world.getName(), TextColors.RESET, "] (DIM",
                 ((IMixinWorldServer) world).getDimensionId(), ") TPS: ", TextColors.LIGHT_PURPLE,
                 THREE_DECIMAL_DIGITS_FORMATTER.format(worldTps), TextColors.RESET,  ", Mean: ", TextColors.RED,
                 THREE_DECIMAL_DIGITS_FORMATTER.format(worldMeanTickTime), "ms"));
+        final IChunkLoader chunkLoader = ((IMixinChunkProviderServer) ((WorldServer) world).getChunkProvider()).getChunkLoader();
+        if (chunkLoader instanceof IMixinAnvilChunkLoader) {
+            builder.append(Text.of(TextColors.RESET, ", Pending chunk writes: ", TextColors.RED,
+                    ((IMixinAnvilChunkLoader) chunkLoader).getPendingChunkWrites()));
+        }
+        if (SpongeImpl.getGlobalConfig().getConfig().getModules().useOptimizations()
+                && SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncLighting()) {
+            builder.append(Text.of(TextColors.RESET, ", Pending light updates: ", TextColors.RED,
+                    ((IMixinWorldServer) world).getPendingLightUpdates()));
+        }
+        src.sendMessage(builder.build());
     }
 
     private static Long mean(long[] values) {
@@ -0,0 +1,57 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class ChunkIOCategory extends ConfigCategory {
+
+    @Setting(value = "dedicated-io-thread", comment = "If enabled, each world writes its chunks on its own I/O thread instead of sharing\n"
+            + "the single vanilla file I/O thread with every other world.")
+    private boolean dedicatedIOThread = false;
+
+    @Setting(value = "off-thread-serialization", comment = "If enabled, saving a chunk only copies its block sections and writes its entities\n"
+            + "and tile entities on the main thread, the rest of the chunk data is encoded on the I/O thread.")
+    private boolean offThreadSerialization = false;
+
+    @Setting(value = "chunk-stream-parallelism", comment = "The amount of threads used to read and decode region files when plugins stream\n"
+            + "all generated chunks of a world. If set to 0, the region files are read one chunk at a time. (Default: 0)")
+    private int chunkStreamParallelism = 0;
+
+    public boolean useDedicatedIOThread() {
+        return this.dedicatedIOThread;
+    }
+
+    public boolean useOffThreadSerialization() {
+        return this.offThreadSerialization;
+    }
+
+    public int getChunkStreamParallelism() {
+        return this.chunkStreamParallelism;
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class EventListenerCategory extends ConfigCategory {
+
+    @Setting(value = "latency-tracking", comment = "If enabled, the time every event listener takes is recorded per listener, for both\n"
+            + "synchronous and asynchronous posts. The latencies are shown by '/sponge listeners' and included in timings reports.")
+    private boolean latencyTracking = false;
+
+    @Setting(value = "watchdog-threshold", comment = "The p99 latency in milliseconds over which a listener is considered slow during a tick.\n"
+            + "Requires 'latency-tracking'. If set to 0, the watchdog is disabled. (Default: 0)")
+    private double watchdogThreshold = 0;
+
+    @Setting(value = "watchdog-ticks", comment = "The amount of consecutive ticks a listener has to be slow before the watchdog acts on it.")
+    private int watchdogTicks = 20;
+
+    @Setting(value = "watchdog-disable", comment = "If enabled, the watchdog unregisters slow listeners instead of only logging them.")
+    private boolean watchdogDisable = false;
+
+    @Setting(value = "observer-queue-size", comment = "The maximum amount of events waiting to be passed to observers. Events posted while the\n"
+            + "queue is full are not passed to the observers, the amount of dropped events is shown by '/sponge tps'.")
+    private int observerQueueSize = 10000;
+
+    public boolean isLatencyTracking() {
+        return this.latencyTracking;
+    }
+
+    public double getWatchdogThreshold() {
+        return this.watchdogThreshold;
+    }
+
+    public int getWatchdogTicks() {
+        return this.watchdogTicks;
+    }
+
+    public boolean isWatchdogDisable() {
+        return this.watchdogDisable;
+    }
+
+    public int getObserverQueueSize() {
+        return this.observerQueueSize;
+    }
+
+}
@@ -56,11 +56,27 @@ public class OptimizationCategory extends ConfigCategory {
     @Setting(value = "async-lighting", comment = "Runs lighting updates async.")
     private AsyncLightingCategory asyncLightingCategory = new AsyncLightingCategory();
 
+    @Setting(value = "chunk-io", comment = "Handles how chunks are written to their region files.")
+    private ChunkIOCategory chunkIOCategory = new ChunkIOCategory();
+
     @Setting(value = "panda-redstone", comment = "If enabled, uses Panda4494's Redstone implementation which improves performance.\n"
             + "See https://bugs.mojang.com/browse/MC-11193 for more information.\n"
             + "Note: This optimization has a few issues which is explained in the bug report. We are not responsible for any issues this may cause.")
     private boolean pandaRedstone = false;
 
+    @Setting(value = "compiled-event-dispatch", comment = "If enabled, frequently posted events are dispatched through a generated class per event type\n"
+            + "which calls each listener directly instead of looping over all listeners.")
+    private boolean compiledEventDispatch = false;
+
+    @Setting(value = "event-recycling", comment = "If enabled, the events posted for every block tick are reused instead of created for each tick.\n"
+            + "Listeners must not keep references to these events after they return. Recycling is disabled for an event\n"
+            + "when a listener is detected to keep one.")
+    private boolean eventRecycling = false;
+
+    @Setting(value = "phase-context-pooling", comment = "If enabled, the phase contexts of entity and tileentity ticks are reused instead of created\n"
+            + "for every tick, along with their capture lists.")
+    private boolean phaseContextPooling = false;
+
     public OptimizationCategory() {  
         try {  
             // Enabled by default on SpongeVanilla, disabled by default on SpongeForge.  
@@ -96,6 +112,22 @@ public boolean useAsyncLighting() {
         return this.asyncLightingCategory.isEnabled();
     }
 
+    public ChunkIOCategory getChunkIOCategory() {
+        return this.chunkIOCategory;
+    }
+
+    public boolean useCompiledEventDispatch() {
+        return this.compiledEventDispatch;
+    }
+
+    public boolean useEventRecycling() {
+        return this.eventRecycling;
+    }
+
+    public boolean usePhaseContextPooling() {
+        return this.phaseContextPooling;
+    }
+
     public boolean usePandaRedstone() {
         return this.pandaRedstone;
     }
@@ -0,0 +1,61 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    @Setting(value = "async-max-threads", comment = "The maximum amount of threads used to run asynchronous plugin tasks.\n"
+            + "Tasks are queued per plugin and the threads take turns between plugins, so that a single plugin\n"
+            + "cannot starve the others. If set to 0, an unbounded thread pool is used instead. (Default: 0)")
+    private int asyncMaxThreads = 0;
+
+    @Setting(value = "async-max-queued-per-plugin", comment = "The maximum amount of asynchronous task executions a single plugin may have\n"
+            + "waiting for a thread. Executions over this limit are rejected and logged. Only used if 'async-max-threads'\n"
+            + "is above 0. If set to 0, the queue is unbounded. (Default: 0)")
+    private int asyncMaxQueuedPerPlugin = 0;
+
+    @Setting(value = "sync-tick-budget", comment = "The maximum amount of milliseconds synchronous plugin tasks may take per tick.\n"
+            + "Once spent, the remaining due tasks are carried over to the next tick. Every tick the due tasks run\n"
+            + "longest overdue first, so carried over tasks go before newly due ones. If set to 0, all due tasks are\n"
+            + "run every tick. (Default: 0)")
+    private int syncTickBudget = 0;
+
+    public int getAsyncMaxThreads() {
+        return this.asyncMaxThreads;
+    }
+
+    public int getAsyncMaxQueuedPerPlugin() {
+        return this.asyncMaxQueuedPerPlugin;
+    }
+
+    public int getSyncTickBudget() {
+        return this.syncTickBudget;
+    }
+
+}
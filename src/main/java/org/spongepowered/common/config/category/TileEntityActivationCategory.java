@@ -39,6 +39,10 @@ public class TileEntityActivationCategory extends ConfigCategory {
     private int defaultBlockRange = 64;
     @Setting(value = "default-tick-rate", comment = "Default tick rate used for all tileentities unless overidden.")
     private int defaultTickRate = 1;
+    @Setting(value = "event-driven", comment = "If enabled, the tileentities in range of players are only recomputed when a player enters or leaves\n"
+            + "the activation range of a chunk, or when a tileentity is added or removed, instead of checking\n"
+            + "every tileentity of every watched chunk each tick. Ranges are then rounded to whole chunks.")
+    private boolean eventDriven = false;
     @Setting(value = "mods", comment = "Per-mod overrides. Refer to the minecraft default mod for example.")
     private Map<String, TileEntityActivationModCategory> modList = new HashMap<>();
 
@@ -57,6 +61,10 @@ public int getDefaultTickRate() {
         return this.defaultTickRate;
     }
 
+    public boolean isEventDriven() {
+        return this.eventDriven;
+    }
+
     public Map<String, TileEntityActivationModCategory> getModList() {
         return this.modList;
     }
@@ -33,11 +33,13 @@
 import org.spongepowered.common.config.category.BungeeCordCategory;
 import org.spongepowered.common.config.category.CauseTrackerCategory;
 import org.spongepowered.common.config.category.CommandsCategory;
+import org.spongepowered.common.config.category.EventListenerCategory;
 import org.spongepowered.common.config.category.ExploitCategory;
 import org.spongepowered.common.config.category.GlobalGeneralCategory;
 import org.spongepowered.common.config.category.GlobalWorldCategory;
 import org.spongepowered.common.config.category.ModuleCategory;
 import org.spongepowered.common.config.category.OptimizationCategory;
+import org.spongepowered.common.config.category.SchedulerCategory;
 import org.spongepowered.common.config.category.SqlCategory;
 import org.spongepowered.common.config.category.TeleportHelperCategory;
 import org.spongepowered.common.util.IpSet;
@@ -81,6 +83,12 @@ public class GlobalConfig extends ConfigBase {
     @Setting(value = "cause-tracker")
     protected CauseTrackerCategory causeTracker = new CauseTrackerCategory();
 
+    @Setting(value = "scheduler", comment = "Configuration options related to the plugin task scheduler.")
+    private SchedulerCategory scheduler = new SchedulerCategory();
+
+    @Setting(value = "event-listeners", comment = "Configuration options related to the latency of event listeners.")
+    private EventListenerCategory eventListeners = new EventListenerCategory();
+
     @Setting(value = "teleport-helper", comment = "Blocks to blacklist for safe teleportation.")
     private TeleportHelperCategory teleportHelper = new TeleportHelperCategory();
 
@@ -147,6 +155,14 @@ public CauseTrackerCategory getCauseTracker() {
         return this.causeTracker;
     }
 
+    public SchedulerCategory getScheduler() {
+        return this.scheduler;
+    }
+
+    public EventListenerCategory getEventListeners() {
+        return this.eventListeners;
+    }
+
     public TeleportHelperCategory getTeleportHelper() {
         return this.teleportHelper;
     }
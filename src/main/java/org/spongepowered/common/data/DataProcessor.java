@@ -57,6 +57,20 @@
 
     boolean supports(EntityType entityType);
 
+    /**
+     * Checks if this {@link DataProcessor} may support instances of the
+     * given holder class. Returning false drops this processor from the
+     * processors considered for any instance of the class, so it may only
+     * return false if {@link #supports(DataHolder)} can never be true for
+     * those instances.
+     *
+     * @param holderClass The class of the data holder
+     * @return False if no instance of the class is ever supported
+     */
+    default boolean isApplicableTo(Class<?> holderClass) {
+        return true;
+    }
+
     /**
      * Attempts to get the given {@link DataManipulator} of type {@code T} if
      * and only if the manipulator's required data exists from the
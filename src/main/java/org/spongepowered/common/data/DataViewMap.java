@@ -0,0 +1,246 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * An insertion ordered map backing a {@link MemoryDataView}.
+ *
+ * <p>Most views only hold a handful of entries, so the keys and values are
+ * kept in two parallel arrays and looked up with a linear scan, instead of
+ * allocating a node per entry like a linked hash map does. Only once a view
+ * grows past {@link #INDEX_THRESHOLD} entries a hash index of the keys is
+ * built.</p>
+ */
+final class DataViewMap extends AbstractMap<String, Object> {
+
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int INDEX_THRESHOLD = 8;
+
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+    private int modCount;
+    @Nullable private Object2IntOpenHashMap<String> index;
+    @Nullable private Set<Entry<String, Object>> entrySet;
+
+    private int indexOf(@Nullable Object key) {
+        if (this.index != null) {
+            return this.index.getInt(key);
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (this.keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void rebuildIndex() {
+        if (this.size <= INDEX_THRESHOLD) {
+            this.index = null;
+            return;
+        }
+        final Object2IntOpenHashMap<String> index = new Object2IntOpenHashMap<>(this.size);
+        index.defaultReturnValue(-1);
+        for (int i = 0; i < this.size; i++) {
+            index.put(this.keys[i], i);
+        }
+        this.index = index;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) != -1;
+    }
+
+    @Override
+    public Object get(Object key) {
+        final int i = indexOf(key);
+        return i == -1 ? null : this.values[i];
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        final int i = indexOf(key);
+        if (i != -1) {
+            final Object previous = this.values[i];
+            this.values[i] = value;
+            return previous;
+        }
+        if (this.size == this.keys.length) {
+            this.keys = Arrays.copyOf(this.keys, this.size * 2);
+            this.values = Arrays.copyOf(this.values, this.size * 2);
+        }
+        this.keys[this.size] = key;
+        this.values[this.size] = value;
+        this.size++;
+        this.modCount++;
+        if (this.index != null) {
+            this.index.put(key, this.size - 1);
+        } else if (this.size > INDEX_THRESHOLD) {
+            rebuildIndex();
+        }
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        final int i = indexOf(key);
+        if (i == -1) {
+            return null;
+        }
+        final Object previous = this.values[i];
+        removeAt(i);
+        return previous;
+    }
+
+    private void removeAt(int i) {
+        final int moved = this.size - i - 1;
+        if (moved > 0) {
+            System.arraycopy(this.keys, i + 1, this.keys, i, moved);
+            System.arraycopy(this.values, i + 1, this.values, i, moved);
+        }
+        this.size--;
+        this.keys[this.size] = null;
+        this.values[this.size] = null;
+        this.modCount++;
+        if (this.index != null) {
+            rebuildIndex();
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.keys, 0, this.size, null);
+        Arrays.fill(this.values, 0, this.size, null);
+        this.size = 0;
+        this.index = null;
+        this.modCount++;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (this.entrySet == null) {
+            this.entrySet = new EntrySet();
+        }
+        return this.entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return DataViewMap.this.size;
+        }
+
+        @Override
+        public void clear() {
+            DataViewMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private int next;
+        private int last = -1;
+        private int expectedModCount = DataViewMap.this.modCount;
+
+        @Override
+        public boolean hasNext() {
+            return this.next < DataViewMap.this.size;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (DataViewMap.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (this.next >= DataViewMap.this.size) {
+                throw new NoSuchElementException();
+            }
+            this.last = this.next++;
+            return new SlotEntry(this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last == -1) {
+                throw new IllegalStateException();
+            }
+            if (DataViewMap.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(this.last);
+            this.next = this.last;
+            this.last = -1;
+            this.expectedModCount = DataViewMap.this.modCount;
+        }
+    }
+
+    private final class SlotEntry extends SimpleEntry<String, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int slot;
+
+        SlotEntry(int slot) {
+            super(DataViewMap.this.keys[slot], DataViewMap.this.values[slot]);
+            this.slot = slot;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            DataViewMap.this.values[this.slot] = value;
+            return super.setValue(value);
+        }
+    }
+}
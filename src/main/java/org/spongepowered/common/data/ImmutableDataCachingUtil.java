@@ -26,8 +26,9 @@
 
 import static org.spongepowered.common.util.ReflectionUtil.createUnsafeInstance;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableSet;
 import org.spongepowered.api.CatalogType;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
@@ -37,8 +38,13 @@
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.annotation.Nullable;
 
 public final class ImmutableDataCachingUtil {
 
@@ -48,16 +54,22 @@ private ImmutableDataCachingUtil() {}
     public static final int MANIPULATOR_CACHE_LIMIT = 100000;
     public static final int VALUE_CACHE_LIMIT = 100000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
+    // Argument types that are immutable and compared by value, anything else is keyed by its string form
+    private static final Set<Class<?>> VALUE_TYPES = ImmutableSet.of(Boolean.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, Character.class, String.class, UUID.class);
+
+    private static final Cache<CacheKey, ImmutableDataManipulator<?, ?>> manipulatorCache = Caffeine.newBuilder()
         .maximumSize(MANIPULATOR_CACHE_LIMIT)
-        .concurrencyLevel(4)
         .build();
 
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
-        .concurrencyLevel(4)
+    private static final Cache<CacheKey, ImmutableValue<?>> valueCache = Caffeine.newBuilder()
         .maximumSize(VALUE_CACHE_LIMIT)
         .build();
 
+    // Instances for a single boolean, small int or enum argument, per manipulator class and per value class and key
+    private static final ConcurrentHashMap<Class<?>, ArgumentCache> manipulatorArguments = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Class<?>, ConcurrentHashMap<Key<?>, ArgumentCache>> valueArguments = new ConcurrentHashMap<>();
+
     /**
      * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
      * does not have the desired {@link ImmutableDataManipulator} with relative
@@ -75,55 +87,215 @@ private ImmutableDataCachingUtil() {}
      */
     @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
-        // We can't really use the generic typing here because it's complicated...
-        try {
-            // Let's get the key
-            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
-                    try {
-                        return createUnsafeInstance(immutableClass, args);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
-                                                     + Arrays.toString(args), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
-                                                            + Arrays.toString(args));
-            });
-        } catch (Throwable e) {
-            throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
+        if (args != null && args.length == 1) {
+            ArgumentCache arguments = manipulatorArguments.get(immutableClass);
+            if (arguments == null) {
+                arguments = manipulatorArguments.computeIfAbsent(immutableClass, type -> new ArgumentCache());
+            }
+            final AtomicReferenceArray<Object> slots = arguments.getSlots(args[0]);
+            if (slots != null) {
+                final int index = ArgumentCache.getIndex(args[0]);
+                final Object cached = slots.get(index);
+                return (T) (cached != null ? cached : intern(slots, index, createManipulator(immutableClass, args)));
+            }
         }
+        final CacheKey key = new CacheKey(immutableClass, null, args);
+        final ImmutableDataManipulator<?, ?> cached = manipulatorCache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        // Not created within the cache, constructors may look up other manipulators
+        final T manipulator = createManipulator(immutableClass, args);
+        final ImmutableDataManipulator<?, ?> previous = manipulatorCache.asMap().putIfAbsent(key, manipulator);
+        return previous != null ? (T) previous : manipulator;
     }
 
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
+        ConcurrentHashMap<Key<?>, ArgumentCache> keyArguments = valueArguments.get(valueClass);
+        if (keyArguments == null) {
+            keyArguments = valueArguments.computeIfAbsent(valueClass, type -> new ConcurrentHashMap<>());
+        }
+        ArgumentCache arguments = keyArguments.get(usedKey);
+        if (arguments == null) {
+            arguments = keyArguments.computeIfAbsent(usedKey, type -> new ArgumentCache());
+        }
+        final AtomicReferenceArray<Object> slots = arguments.getSlots(arg);
+        if (slots != null) {
+            final int index = ArgumentCache.getIndex(arg);
+            final Object cached = slots.get(index);
+            return (T) (cached != null ? cached : intern(slots, index, createValue(valueClass, usedKey, defaultArg, arg, extraArgs)));
+        }
+        final CacheKey key = new CacheKey(valueClass, usedKey, new Object[] {arg});
+        final ImmutableValue<?> cached = valueCache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        final ImmutableValue<?> value = createValue(valueClass, usedKey, defaultArg, arg, extraArgs);
+        final ImmutableValue<?> previous = valueCache.asMap().putIfAbsent(key, value);
+        return (T) (previous != null ? previous : value);
+    }
+
+    private static <T extends ImmutableDataManipulator<?, ?>> T createManipulator(final Class<T> immutableClass, final Object... args) {
         try {
-            return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
-                    try {
-                        if (extraArgs == null || extraArgs.length == 0) {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
-                        }
-                        return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
-            });
-        } catch (ExecutionException e) {
+            return createUnsafeInstance(immutableClass, args);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
+                                         + Arrays.toString(args), e);
+            throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
+                                                    + Arrays.toString(args), e);
+        } catch (RuntimeException e) {
+            throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
+        }
+    }
+
+    private static ImmutableValue<?> createValue(final Class<? extends ImmutableValue<?>> valueClass, final Key<?> usedKey, final Object defaultArg,
+            final Object arg, final Object... extraArgs) {
+        try {
+            if (extraArgs == null || extraArgs.length == 0) {
+                return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
+            }
+            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
             throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
         }
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
-            } else {
-                builder.append("{").append(object.toString()).append("}");
+    private static Object intern(AtomicReferenceArray<Object> slots, int index, Object created) {
+        if (slots.compareAndSet(index, null, created)) {
+            return created;
+        }
+        // Another thread created it first
+        return slots.get(index);
+    }
+
+    /**
+     * Gets the part of a cache key for the given argument. Arguments that
+     * are not known to be immutable are keyed by their string form, so
+     * changing them afterwards cannot corrupt the cache.
+     */
+    @Nullable
+    private static Object getKeyPart(@Nullable Object arg) {
+        if (arg == null || arg instanceof Enum || VALUE_TYPES.contains(arg.getClass())) {
+            return arg;
+        }
+        if (arg instanceof CatalogType) {
+            return ((CatalogType) arg).getId();
+        }
+        return arg.getClass().getName() + ':' + arg;
+    }
+
+    /**
+     * A cache key of a type, an optional data key and the arguments, with a
+     * precomputed hash.
+     */
+    private static final class CacheKey {
+
+        private final Class<?> type;
+        @Nullable private final Key<?> key;
+        private final Object[] parts;
+        private final int hash;
+
+        CacheKey(Class<?> type, @Nullable Key<?> key, @Nullable Object[] args) {
+            this.type = type;
+            this.key = key;
+            this.parts = args == null ? new Object[0] : new Object[args.length];
+            int hash = 31 * type.hashCode() + Objects.hashCode(key);
+            for (int i = 0; i < this.parts.length; i++) {
+                this.parts[i] = getKeyPart(args[i]);
+                hash = 31 * hash + Objects.hashCode(this.parts[i]);
+            }
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey other = (CacheKey) obj;
+            return this.hash == other.hash && this.type == other.type && Objects.equals(this.key, other.key)
+                    && Arrays.equals(this.parts, other.parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    /**
+     * Holds the instances for a single boolean, small int or enum argument,
+     * which are never evicted since there are only few of them.
+     */
+    private static final class ArgumentCache {
+
+        private static final int INT_COUNT = CACHE_LIMIT_FOR_INDIVIDUAL_TYPE + 1;
+
+        private final AtomicReferenceArray<Object> booleans = new AtomicReferenceArray<>(2);
+        @Nullable private volatile AtomicReferenceArray<Object> ints;
+        @Nullable private volatile Class<?> enumType;
+        @Nullable private volatile AtomicReferenceArray<Object> enums;
+
+        static int getIndex(Object arg) {
+            if (arg instanceof Boolean) {
+                return (Boolean) arg ? 1 : 0;
+            }
+            if (arg instanceof Integer) {
+                return (Integer) arg;
+            }
+            return ((Enum<?>) arg).ordinal();
+        }
+
+        /**
+         * Gets the slots to cache instances for the given argument in, at
+         * {@link #getIndex}.
+         *
+         * @param arg The argument
+         * @return The slots, or null if the argument is not cached here
+         */
+        @Nullable
+        AtomicReferenceArray<Object> getSlots(@Nullable Object arg) {
+            if (arg instanceof Boolean) {
+                return this.booleans;
+            }
+            if (arg instanceof Integer) {
+                final int value = (Integer) arg;
+                if (value < 0 || value >= INT_COUNT) {
+                    return null;
+                }
+                AtomicReferenceArray<Object> ints = this.ints;
+                if (ints == null) {
+                    synchronized (this) {
+                        ints = this.ints;
+                        if (ints == null) {
+                            this.ints = ints = new AtomicReferenceArray<>(INT_COUNT);
+                        }
+                    }
+                }
+                return ints;
+            }
+            if (arg instanceof Enum) {
+                final Class<?> type = ((Enum<?>) arg).getDeclaringClass();
+                AtomicReferenceArray<Object> enums = this.enums;
+                if (enums == null) {
+                    synchronized (this) {
+                        enums = this.enums;
+                        if (enums == null) {
+                            this.enumType = type;
+                            this.enums = enums = new AtomicReferenceArray<>(type.getEnumConstants().length);
+                        }
+                    }
+                }
+                // Only one enum type per argument, others use the bounded cache
+                return type == this.enumType ? enums : null;
             }
+            return null;
         }
-        return builder.toString();
     }
 }
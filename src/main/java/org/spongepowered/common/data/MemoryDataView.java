@@ -35,7 +35,6 @@
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import org.apache.commons.lang3.ArrayUtils;
 import org.spongepowered.api.CatalogType;
 import org.spongepowered.api.Sponge;
@@ -67,7 +66,11 @@
  */
 public class MemoryDataView implements DataView {
 
-    protected final Map<String, Object> map = Maps.newLinkedHashMap();
+    // Values that are stored as is, without looking up a translator
+    private static final ImmutableSet<Class<?>> SCALAR_TYPES = ImmutableSet.of(String.class, Boolean.class, Byte.class, Short.class,
+            Integer.class, Long.class, Float.class, Double.class, Character.class);
+
+    protected final Map<String, Object> map = new DataViewMap();
     private final DataContainer container;
     private final DataView parent;
     private final DataQuery path;
@@ -137,7 +140,7 @@ public Map<DataQuery, Object> getValues(boolean deep) {
             if (value instanceof DataView) {
                 builder.put(query, ((DataView) value).getValues(deep));
             } else {
-                builder.put(query, get(query).get());
+                builder.put(query, value);
             }
         }
         return builder.build();
@@ -148,12 +151,17 @@ public final boolean contains(DataQuery path) {
         checkNotNull(path, "path");
         List<String> queryParts = path.getParts();
 
-        String key = queryParts.get(0);
-        if (queryParts.size() == 1) {
-            return this.map.containsKey(key);
+        final int last = queryParts.size() - 1;
+        MemoryDataView view = this;
+        for (int i = 0; i < last; i++) {
+            final Object child = view.map.get(queryParts.get(i));
+            if (child instanceof MemoryDataView) {
+                view = (MemoryDataView) child;
+            } else {
+                return child instanceof DataView && ((DataView) child).contains(of(queryParts.subList(i + 1, last + 1)));
+            }
         }
-        Optional<DataView> subViewOptional = this.getUnsafeView(key);
-        return subViewOptional.isPresent() && subViewOptional.get().contains(path.popFirst());
+        return view.map.containsKey(queryParts.get(last));
     }
 
     @Override
@@ -187,42 +195,49 @@ public Optional<Object> get(DataQuery path) {
             return Optional.<Object>of(this);
         }
 
-        String key = queryParts.get(0);
-        if (sz == 1) {
-            final Object object = this.map.get(key);
-            if (object == null) {
+        // Walk down to the view holding the last part instead of popping a
+        // new query for every level
+        MemoryDataView view = this;
+        for (int i = 0; i < sz - 1; i++) {
+            final Object child = view.map.get(queryParts.get(i));
+            if (child instanceof MemoryDataView) {
+                view = (MemoryDataView) child;
+            } else if (child instanceof DataView) {
+                return ((DataView) child).get(of(queryParts.subList(i + 1, sz)));
+            } else {
                 return Optional.empty();
             }
-            if (this.safety == SafetyMode.ALL_DATA_CLONED) {
-                if (object.getClass().isArray()) {
-                    if (object instanceof byte[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((byte[]) object));
-                    } else if (object instanceof short[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((short[]) object));
-                    } else if (object instanceof int[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((int[]) object));
-                    } else if (object instanceof long[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((long[]) object));
-                    } else if (object instanceof float[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((float[]) object));
-                    } else if (object instanceof double[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((double[]) object));
-                    } else if (object instanceof boolean[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((boolean[]) object));
-                    } else {
-                        return Optional.<Object>of(ArrayUtils.clone((Object[]) object));
-                    }
-                }
-            }
-            return Optional.of(object);
         }
-        Optional<DataView> subViewOptional = this.getUnsafeView(key);
-        if (!subViewOptional.isPresent()) {
+        return view.getValue(queryParts.get(sz - 1));
+    }
+
+    private Optional<Object> getValue(String key) {
+        final Object object = this.map.get(key);
+        if (object == null) {
             return Optional.empty();
         }
-        DataView subView = subViewOptional.get();
-        return subView.get(path.popFirst());
-
+        if (this.safety == SafetyMode.ALL_DATA_CLONED) {
+            if (object.getClass().isArray()) {
+                if (object instanceof byte[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((byte[]) object));
+                } else if (object instanceof short[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((short[]) object));
+                } else if (object instanceof int[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((int[]) object));
+                } else if (object instanceof long[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((long[]) object));
+                } else if (object instanceof float[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((float[]) object));
+                } else if (object instanceof double[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((double[]) object));
+                } else if (object instanceof boolean[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((boolean[]) object));
+                } else {
+                    return Optional.<Object>of(ArrayUtils.clone((Object[]) object));
+                }
+            }
+        }
+        return Optional.of(object);
     }
 
     @Override
@@ -232,6 +247,30 @@ public DataView set(DataQuery path, Object value) {
         checkNotNull(value, "value");
         checkState(this.container != null);
 
+        List<String> parts = path.getParts();
+        String key = parts.get(0);
+        if (parts.size() > 1) {
+            final int last = parts.size() - 1;
+            MemoryDataView view = this;
+            for (int i = 0; i < last; i++) {
+                final Object child = view.map.get(parts.get(i));
+                if (child instanceof MemoryDataView) {
+                    view = (MemoryDataView) child;
+                } else if (child instanceof DataView) {
+                    ((DataView) child).set(of(parts.subList(i + 1, last + 1)), value);
+                    return this;
+                } else {
+                    view = (MemoryDataView) view.createView(of(parts.get(i)));
+                }
+            }
+            view.set(of(parts.get(last)), value);
+            return this;
+        }
+        if (SCALAR_TYPES.contains(value.getClass())) {
+            this.map.put(key, value);
+            return this;
+        }
+
         @Nullable DataManager manager;
 
         // TODO: this call to getDataManager each set can be cleaned up
@@ -241,21 +280,6 @@ public DataView set(DataQuery path, Object value) {
             manager = null;
         }
 
-        List<String> parts = path.getParts();
-        String key = parts.get(0);
-        if (parts.size() > 1) {
-            DataQuery subQuery = of(key);
-            Optional<DataView> subViewOptional = this.getUnsafeView(subQuery);
-            DataView subView;
-            if (!subViewOptional.isPresent()) {
-                this.createView(subQuery);
-                subView = (DataView) this.map.get(key);
-            } else {
-                subView = subViewOptional.get();
-            }
-            subView.set(path.popFirst(), value);
-            return this;
-        }
         if (value instanceof DataView) {
             checkArgument(value != this, "Cannot set a DataView to itself.");
             // always have to copy a data view to avoid overwriting existing
@@ -403,6 +427,15 @@ private void setMap(String key, Map<?, ?> value) {
     }
 
     private void copyDataView(DataQuery path, DataView value) {
+        if (value instanceof MemoryDataView) {
+            // Nested views are copied when they are set, there is no need to
+            // set every deep key again
+            final MemoryDataView memoryView = (MemoryDataView) value;
+            for (String key : memoryView.map.keySet()) {
+                set(path.then(key), memoryView.getValue(key).get());
+            }
+            return;
+        }
         Collection<DataQuery> valueKeys = value.getKeys(true);
         for (DataQuery oldKey : valueKeys) {
             set(path.then(oldKey), value.get(oldKey).get());
@@ -520,14 +553,6 @@ private Optional<DataView> getUnsafeView(DataQuery path) {
         return get(path).filter(obj -> obj instanceof DataView).map(obj -> (DataView) obj);
     }
 
-    private Optional<DataView> getUnsafeView(String path) {
-        final Object object = this.map.get(path);
-        if (!(object instanceof DataView)) {
-            return Optional.empty();
-        }
-        return Optional.of((DataView) object);
-    }
-
 
     @Override
     public Optional<Boolean> getBoolean(DataQuery path) {
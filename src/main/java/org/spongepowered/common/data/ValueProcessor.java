@@ -139,6 +139,20 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Checks if this {@link ValueProcessor} may support instances of the
+     * given container class. Returning false drops this processor from the
+     * processors considered for any instance of the class, so it may only
+     * return false if {@link #supports(ValueContainer)} can never be true
+     * for those instances.
+     *
+     * @param containerClass The class of the value container
+     * @return False if no instance of the class is ever supported
+     */
+    default boolean isApplicableTo(Class<?> containerClass) {
+        return true;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
@@ -0,0 +1,551 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.spongepowered.api.data.DataQuery.of;
+
+import com.google.common.collect.Lists;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataSerializable;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads and writes the NBT binary format straight from and to a
+ * {@link DataView}, without building an intermediate
+ * {@link net.minecraft.nbt.NBTTagCompound} tree.
+ *
+ * <p>The produced data is the same as going through
+ * {@link NbtTranslator} and {@link net.minecraft.nbt.CompressedStreamTools},
+ * including the {@link NbtTranslator#BOOLEAN_IDENTIFER} suffix for boolean
+ * keys.</p>
+ */
+public final class NbtStreamTranslator {
+
+    // The same nesting limit as NBTTagCompound and NBTTagList
+    private static final int MAX_DEPTH = 512;
+    // The size limit of CompressedStreamTools#read(DataInputStream)
+    private static final long MAX_SIZE = 2097152L;
+
+    /**
+     * Reads a named root compound from the given input. Like
+     * {@link net.minecraft.nbt.CompressedStreamTools#read(DataInputStream)},
+     * at most {@link #MAX_SIZE} bytes worth of tags are read.
+     *
+     * @param input The input
+     * @return The read data
+     * @throws IOException If the data could not be read
+     */
+    public static DataContainer read(DataInput input) throws IOException {
+        checkNotNull(input, "input");
+        return readRoot(input, new SizeTracker(MAX_SIZE));
+    }
+
+    /**
+     * Reads a gzip compressed root compound from the given stream. Like
+     * {@link net.minecraft.nbt.CompressedStreamTools#readCompressed(InputStream)},
+     * the size of the data is not limited.
+     *
+     * @param stream The stream
+     * @return The read data
+     * @throws IOException If the data could not be read
+     */
+    public static DataContainer readCompressed(InputStream stream) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(stream)))) {
+            return readRoot(input, new SizeTracker(Long.MAX_VALUE));
+        }
+    }
+
+    /**
+     * Reads the compound stored under the given key of a named root
+     * compound, decoding only the entries of it accepted by the filter. All
+     * other entries are skipped without being decoded. Like
+     * {@link #readCompressed(InputStream)}, the size of the data is not
+     * limited.
+     *
+     * @param input The input
+     * @param key The key of the compound in the root compound
+     * @param filter The filter, tested with the key and type of every entry
+     *     of the compound
+     * @return The read entries, or empty if the root has no compound under
+     *     the key
+     * @throws IOException If the data could not be read
+     */
+    public static Optional<DataContainer> readChild(DataInput input, String key, BiPredicate<String, Byte> filter) throws IOException {
+        checkNotNull(input, "input");
+        checkNotNull(key, "key");
+        checkNotNull(filter, "filter");
+        final SizeTracker tracker = new SizeTracker(Long.MAX_VALUE);
+        readRootHeader(input);
+        tracker.read(384);
+        DataContainer child = null;
+        byte type;
+        while ((type = input.readByte()) != NbtDataUtil.TAG_END) {
+            final String entryKey = input.readUTF();
+            tracker.read(224 + 16L * entryKey.length());
+            if (type == NbtDataUtil.TAG_COMPOUND && entryKey.equals(key)) {
+                child = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+                readCompound(input, child, filter, tracker, 1);
+            } else {
+                skipPayload(input, type, tracker, 1);
+            }
+        }
+        return Optional.ofNullable(child);
+    }
+
+    /**
+     * Writes the given view as a root compound with an empty name.
+     *
+     * @param view The view to write
+     * @param output The output
+     * @throws IOException If the data could not be written
+     */
+    public static void write(DataView view, DataOutput output) throws IOException {
+        checkNotNull(view, "view");
+        checkNotNull(output, "output");
+        output.writeByte(NbtDataUtil.TAG_COMPOUND);
+        output.writeUTF("");
+        writeView(view, output);
+    }
+
+    /**
+     * Writes the given view as a gzip compressed root compound.
+     *
+     * @param view The view to write
+     * @param stream The stream
+     * @throws IOException If the data could not be written
+     */
+    public static void writeCompressed(DataView view, OutputStream stream) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(stream)))) {
+            write(view, output);
+        }
+    }
+
+    private static DataContainer readRoot(DataInput input, SizeTracker tracker) throws IOException {
+        readRootHeader(input);
+        final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        readCompound(input, container, null, tracker, 0);
+        return container;
+    }
+
+    private static void readRootHeader(DataInput input) throws IOException {
+        final byte type = input.readByte();
+        if (type != NbtDataUtil.TAG_COMPOUND) {
+            throw new IOException("Root tag must be a named compound tag");
+        }
+        input.readUTF();
+    }
+
+    /**
+     * Reads the entries of a compound into the given view, skipping the ones
+     * rejected by the filter. The accounted sizes are the same as the ones
+     * of NBTSizeTracker.
+     */
+    private static void readCompound(DataInput input, DataView view, @Nullable BiPredicate<String, Byte> filter, SizeTracker tracker,
+            int depth) throws IOException {
+        tracker.read(384);
+        checkDepth(depth);
+        byte type;
+        while ((type = input.readByte()) != NbtDataUtil.TAG_END) {
+            final String key = input.readUTF();
+            tracker.read(224 + 16L * key.length());
+            if (filter != null && !filter.test(key, type)) {
+                skipPayload(input, type, tracker, depth + 1);
+            } else if (type == NbtDataUtil.TAG_COMPOUND) {
+                readCompound(input, view.createView(of(key)), null, tracker, depth + 1);
+            } else if (type == NbtDataUtil.TAG_BYTE && key.contains(NbtTranslator.BOOLEAN_IDENTIFER)) {
+                tracker.read(72);
+                view.set(of(key.replace(NbtTranslator.BOOLEAN_IDENTIFER, "")), input.readByte() != 0);
+            } else {
+                view.set(of(key), readPayload(input, type, tracker, depth + 1));
+            }
+        }
+    }
+
+    private static Object readPayload(DataInput input, byte type, SizeTracker tracker, int depth) throws IOException {
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                tracker.read(72);
+                return input.readByte();
+            case NbtDataUtil.TAG_SHORT:
+                tracker.read(80);
+                return input.readShort();
+            case NbtDataUtil.TAG_INT:
+                tracker.read(96);
+                return input.readInt();
+            case NbtDataUtil.TAG_LONG:
+                tracker.read(128);
+                return input.readLong();
+            case NbtDataUtil.TAG_FLOAT:
+                tracker.read(96);
+                return input.readFloat();
+            case NbtDataUtil.TAG_DOUBLE:
+                tracker.read(128);
+                return input.readDouble();
+            case NbtDataUtil.TAG_BYTE_ARRAY: {
+                tracker.read(192);
+                final byte[] array = new byte[readLength(input, tracker, 8)];
+                input.readFully(array);
+                return array;
+            }
+            case NbtDataUtil.TAG_STRING: {
+                tracker.read(288);
+                final String value = input.readUTF();
+                tracker.read(16L * value.length());
+                return value;
+            }
+            case NbtDataUtil.TAG_LIST: {
+                tracker.read(296);
+                checkDepth(depth);
+                final byte listType = input.readByte();
+                final int count = readLength(input, tracker, 32);
+                final List<Object> list = Lists.newArrayListWithCapacity(count);
+                for (int i = 0; i < count; i++) {
+                    list.add(readPayload(input, listType, tracker, depth + 1));
+                }
+                return list;
+            }
+            case NbtDataUtil.TAG_COMPOUND: {
+                final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+                readCompound(input, container, null, tracker, depth);
+                return container;
+            }
+            case NbtDataUtil.TAG_INT_ARRAY: {
+                tracker.read(192);
+                final int[] array = new int[readLength(input, tracker, 32)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = input.readInt();
+                }
+                return array;
+            }
+            default:
+                throw new IOException("Unknown NBT type " + type);
+        }
+    }
+
+    /**
+     * Reads the length of an array or list and accounts for the size of its
+     * elements before anything is allocated for them.
+     */
+    private static int readLength(DataInput input, SizeTracker tracker, long elementBits) throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("Negative NBT array or list length " + length);
+        }
+        tracker.read(elementBits * length);
+        return length;
+    }
+
+    /**
+     * Skips the payload of a tag with the same checks and accounted sizes as
+     * {@link #readPayload}. Strings are accounted by their encoded length, as
+     * they are not decoded.
+     */
+    private static void skipPayload(DataInput input, byte type, SizeTracker tracker, int depth) throws IOException {
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                tracker.read(72);
+                skip(input, 1);
+                break;
+            case NbtDataUtil.TAG_SHORT:
+                tracker.read(80);
+                skip(input, 2);
+                break;
+            case NbtDataUtil.TAG_INT:
+            case NbtDataUtil.TAG_FLOAT:
+                tracker.read(96);
+                skip(input, 4);
+                break;
+            case NbtDataUtil.TAG_LONG:
+            case NbtDataUtil.TAG_DOUBLE:
+                tracker.read(128);
+                skip(input, 8);
+                break;
+            case NbtDataUtil.TAG_BYTE_ARRAY:
+                tracker.read(192);
+                skip(input, readLength(input, tracker, 8));
+                break;
+            case NbtDataUtil.TAG_STRING: {
+                tracker.read(288);
+                final int length = input.readUnsignedShort();
+                tracker.read(16L * length);
+                skip(input, length);
+                break;
+            }
+            case NbtDataUtil.TAG_LIST: {
+                tracker.read(296);
+                checkDepth(depth);
+                final byte listType = input.readByte();
+                final int count = readLength(input, tracker, 32);
+                for (int i = 0; i < count; i++) {
+                    skipPayload(input, listType, tracker, depth + 1);
+                }
+                break;
+            }
+            case NbtDataUtil.TAG_COMPOUND: {
+                tracker.read(384);
+                checkDepth(depth);
+                byte entryType;
+                while ((entryType = input.readByte()) != NbtDataUtil.TAG_END) {
+                    final int keyLength = input.readUnsignedShort();
+                    tracker.read(224 + 16L * keyLength);
+                    skip(input, keyLength);
+                    skipPayload(input, entryType, tracker, depth + 1);
+                }
+                break;
+            }
+            case NbtDataUtil.TAG_INT_ARRAY:
+                tracker.read(192);
+                skip(input, 4L * readLength(input, tracker, 32));
+                break;
+            default:
+                throw new IOException("Unknown NBT type " + type);
+        }
+    }
+
+    private static void skip(DataInput input, long bytes) throws IOException {
+        while (bytes > 0) {
+            final int skipped = input.skipBytes((int) Math.min(bytes, Integer.MAX_VALUE));
+            if (skipped > 0) {
+                bytes -= skipped;
+            } else {
+                // Fails with an EOFException at the end of the input
+                input.readByte();
+                bytes--;
+            }
+        }
+    }
+
+    private static void checkDepth(int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+        }
+    }
+
+    private static void writeView(DataView view, DataOutput output) throws IOException {
+        for (DataQuery query : view.getKeys(false)) {
+            final Object value = view.get(query).get();
+            final String key = query.asString('.');
+            if (value instanceof Boolean) {
+                output.writeByte(NbtDataUtil.TAG_BYTE);
+                output.writeUTF(key + NbtTranslator.BOOLEAN_IDENTIFER);
+                output.writeByte((Boolean) value ? 1 : 0);
+            } else {
+                writeTag(key, value, output);
+            }
+        }
+        output.writeByte(NbtDataUtil.TAG_END);
+    }
+
+    private static void writeTag(String key, Object value, DataOutput output) throws IOException {
+        final byte type = getType(value);
+        output.writeByte(type);
+        output.writeUTF(key);
+        writePayload(value, type, output);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeMap(Map<Object, Object> map, DataOutput output) throws IOException {
+        for (Map.Entry<Object, Object> entry : map.entrySet()) {
+            if (entry.getKey() instanceof DataQuery) {
+                final String key = ((DataQuery) entry.getKey()).asString('.');
+                if (entry.getValue() instanceof Boolean) {
+                    output.writeByte(NbtDataUtil.TAG_BYTE);
+                    output.writeUTF(key + NbtTranslator.BOOLEAN_IDENTIFER);
+                    output.writeByte((Boolean) entry.getValue() ? 1 : 0);
+                } else {
+                    writeTag(key, entry.getValue(), output);
+                }
+            } else {
+                writeTag(entry.getKey().toString(), entry.getValue(), output);
+            }
+        }
+        output.writeByte(NbtDataUtil.TAG_END);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writePayload(Object value, byte type, DataOutput output) throws IOException {
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                output.writeByte(value instanceof Boolean ? ((Boolean) value ? 1 : 0) : (Byte) value);
+                break;
+            case NbtDataUtil.TAG_SHORT:
+                output.writeShort((Short) value);
+                break;
+            case NbtDataUtil.TAG_INT:
+                output.writeInt((Integer) value);
+                break;
+            case NbtDataUtil.TAG_LONG:
+                output.writeLong((Long) value);
+                break;
+            case NbtDataUtil.TAG_FLOAT:
+                output.writeFloat((Float) value);
+                break;
+            case NbtDataUtil.TAG_DOUBLE:
+                output.writeDouble((Double) value);
+                break;
+            case NbtDataUtil.TAG_BYTE_ARRAY:
+                if (value instanceof byte[]) {
+                    output.writeInt(((byte[]) value).length);
+                    output.write((byte[]) value);
+                } else {
+                    output.writeInt(((Byte[]) value).length);
+                    for (Byte data : (Byte[]) value) {
+                        output.writeByte(data);
+                    }
+                }
+                break;
+            case NbtDataUtil.TAG_STRING:
+                output.writeUTF((String) value);
+                break;
+            case NbtDataUtil.TAG_LIST:
+                writeList((List<Object>) value, output);
+                break;
+            case NbtDataUtil.TAG_COMPOUND:
+                if (value instanceof Map) {
+                    writeMap((Map<Object, Object>) value, output);
+                } else if (value instanceof DataSerializable) {
+                    writeView(((DataSerializable) value).toContainer(), output);
+                } else {
+                    writeView((DataView) value, output);
+                }
+                break;
+            case NbtDataUtil.TAG_INT_ARRAY:
+                if (value instanceof int[]) {
+                    output.writeInt(((int[]) value).length);
+                    for (int data : (int[]) value) {
+                        output.writeInt(data);
+                    }
+                } else {
+                    output.writeInt(((Integer[]) value).length);
+                    for (Integer data : (Integer[]) value) {
+                        output.writeInt(data);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown NBT type " + type);
+        }
+    }
+
+    private static void writeList(List<Object> list, DataOutput output) throws IOException {
+        if (list.isEmpty()) {
+            output.writeByte(NbtDataUtil.TAG_END);
+            output.writeInt(0);
+            return;
+        }
+        // Like NBTTagList, elements that don't match the type of the first
+        // element are dropped
+        final byte listType = getType(list.get(0));
+        int count = 0;
+        for (Object object : list) {
+            if (getType(object) == listType) {
+                count++;
+            }
+        }
+        output.writeByte(listType);
+        output.writeInt(count);
+        for (Object object : list) {
+            if (getType(object) == listType) {
+                writePayload(object, listType, output);
+            }
+        }
+    }
+
+    private static byte getType(Object value) {
+        checkNotNull(value);
+        if (value instanceof Boolean || value instanceof Byte) {
+            return NbtDataUtil.TAG_BYTE;
+        } else if (value instanceof Short) {
+            return NbtDataUtil.TAG_SHORT;
+        } else if (value instanceof Integer) {
+            return NbtDataUtil.TAG_INT;
+        } else if (value instanceof Long) {
+            return NbtDataUtil.TAG_LONG;
+        } else if (value instanceof Float) {
+            return NbtDataUtil.TAG_FLOAT;
+        } else if (value instanceof Double) {
+            return NbtDataUtil.TAG_DOUBLE;
+        } else if (value instanceof String) {
+            return NbtDataUtil.TAG_STRING;
+        } else if (value.getClass().isArray()) {
+            if (value instanceof byte[] || value instanceof Byte[]) {
+                return NbtDataUtil.TAG_BYTE_ARRAY;
+            } else if (value instanceof int[] || value instanceof Integer[]) {
+                return NbtDataUtil.TAG_INT_ARRAY;
+            }
+        } else if (value instanceof List) {
+            return NbtDataUtil.TAG_LIST;
+        } else if (value instanceof Map || value instanceof DataSerializable || value instanceof DataView) {
+            return NbtDataUtil.TAG_COMPOUND;
+        }
+        throw new IllegalArgumentException("Unable to translate object to NBTBase: " + value);
+    }
+
+    /**
+     * Counts the read bytes the same way as NBTSizeTracker does, but fails
+     * with an {@link IOException}.
+     */
+    private static final class SizeTracker {
+
+        private final long max;
+        private long read;
+
+        SizeTracker(long max) {
+            this.max = max;
+        }
+
+        void read(long bits) throws IOException {
+            this.read += bits / 8;
+            if (this.read > this.max) {
+                throw new IOException("Tried to read NBT tag that was too big; tried to allocate: " + this.read
+                        + " bytes where max allowed: " + this.max);
+            }
+        }
+    }
+
+    private NbtStreamTranslator() {
+    }
+}
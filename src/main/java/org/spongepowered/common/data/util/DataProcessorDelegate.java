@@ -46,6 +46,20 @@
 public final class DataProcessorDelegate<M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>> implements DataProcessor<M, I> {
 
     private final ImmutableList<Tuple<DataProcessor<M, I>, Timing>> processors;
+    // The processors that may support each holder class, resolved once per class
+    private final ClassValue<ImmutableList<Tuple<DataProcessor<M, I>, Timing>>> applicableProcessors =
+            new ClassValue<ImmutableList<Tuple<DataProcessor<M, I>, Timing>>>() {
+                @Override
+                protected ImmutableList<Tuple<DataProcessor<M, I>, Timing>> computeValue(Class<?> type) {
+                    final ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
+                    for (Tuple<DataProcessor<M, I>, Timing> tuple : DataProcessorDelegate.this.processors) {
+                        if (tuple.getFirst().isApplicableTo(type)) {
+                            builder.add(tuple);
+                        }
+                    }
+                    return builder.build();
+                }
+            };
 
     public DataProcessorDelegate(ImmutableList<DataProcessor<M, I>> processors) {
         ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
@@ -64,7 +78,7 @@ public int getPriority() {
     public boolean supports(DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.applicableProcessors.get(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -86,11 +100,16 @@ public boolean supports(EntityType entityType) {
         return false;
     }
 
+    @Override
+    public boolean isApplicableTo(Class<?> holderClass) {
+        return !this.applicableProcessors.get(holderClass).isEmpty();
+    }
+
     @Override
     public Optional<M> from(DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.applicableProcessors.get(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -115,7 +134,7 @@ public Optional<M> from(DataHolder dataHolder) {
     public Optional<M> fill(DataHolder dataHolder, M manipulator, MergeFunction overlap) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.applicableProcessors.get(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -159,7 +178,7 @@ public Optional<M> fill(DataContainer container, M m) {
     public DataTransactionResult set(DataHolder dataHolder, M manipulator, MergeFunction function) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.applicableProcessors.get(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -203,7 +222,7 @@ public Optional<I> with(Key<? extends BaseValue<?>> key, Object value, I immutab
     public DataTransactionResult remove(DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.applicableProcessors.get(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -228,7 +247,7 @@ public DataTransactionResult remove(DataHolder dataHolder) {
     public Optional<M> createFrom(DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.applicableProcessors.get(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
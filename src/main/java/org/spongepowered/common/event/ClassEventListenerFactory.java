@@ -33,13 +33,12 @@
 import static org.objectweb.asm.Opcodes.ACC_STATIC;
 import static org.objectweb.asm.Opcodes.ACC_SUPER;
 import static org.objectweb.asm.Opcodes.ALOAD;
-import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.ARETURN;
 import static org.objectweb.asm.Opcodes.BIPUSH;
 import static org.objectweb.asm.Opcodes.CHECKCAST;
 import static org.objectweb.asm.Opcodes.DUP;
 import static org.objectweb.asm.Opcodes.GETFIELD;
 import static org.objectweb.asm.Opcodes.GETSTATIC;
-import static org.objectweb.asm.Opcodes.IFNULL;
 import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
 import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
 import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
@@ -53,7 +52,6 @@
 import com.google.common.cache.LoadingCache;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.FieldVisitor;
-import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Type;
 import org.spongepowered.api.event.Event;
@@ -117,8 +115,10 @@ Class<? extends AnnotatedEventListener> createClass(Method method) throws Except
     }
 
     private static final String BASE_HANDLER = Type.getInternalName(AnnotatedEventListener.class);
+    private static final String FILTERED_HANDLER = Type.getInternalName(FilteredEventListener.class);
     private static final String HANDLE_METHOD_DESCRIPTOR = '(' + Type.getDescriptor(Event.class) + ")V";
     private static final String FILTER_DESCRIPTOR = "(" + Type.getDescriptor(Event.class) + ")[Ljava/lang/Object;";
+    private static final String FILTERED_HANDLE_METHOD_DESCRIPTOR = '(' + Type.getDescriptor(Event.class) + "[Ljava/lang/Object;)V";
 
     private static byte[] generateClass(String name, Class<?> handle, Method method, Class<?> eventClass, Class<? extends EventFilter> filter) {
         name = name.replace('.', '/');
@@ -135,7 +135,7 @@ private static byte[] generateClass(String name, Class<?> handle, Method method,
         MethodVisitor mv;
         FieldVisitor fv;
 
-        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, BASE_HANDLER, null);
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, FILTERED_HANDLER, null);
         {
             fv = cw.visitField(ACC_PRIVATE + ACC_STATIC, "FILTER", "L" + filterName + ";", null, null);
             fv.visitEnd();
@@ -156,21 +156,24 @@ private static byte[] generateClass(String name, Class<?> handle, Method method,
             mv.visitCode();
             mv.visitVarInsn(ALOAD, 0);
             mv.visitVarInsn(ALOAD, 1);
-            mv.visitMethodInsn(INVOKESPECIAL, BASE_HANDLER, "<init>", "(Ljava/lang/Object;)V", false);
+            mv.visitMethodInsn(INVOKESPECIAL, FILTERED_HANDLER, "<init>", "(Ljava/lang/Object;)V", false);
             mv.visitInsn(RETURN);
             mv.visitMaxs(0, 0);
             mv.visitEnd();
         }
         {
-            mv = cw.visitMethod(ACC_PUBLIC, "handle", HANDLE_METHOD_DESCRIPTOR, null, new String[] { "java/lang/Exception" });
+            mv = cw.visitMethod(ACC_PUBLIC, "filter", FILTER_DESCRIPTOR, null, null);
             mv.visitCode();
             mv.visitFieldInsn(GETSTATIC, name, "FILTER", "L" + filterName + ";");
             mv.visitVarInsn(ALOAD, 1);
             mv.visitMethodInsn(INVOKEINTERFACE, Type.getInternalName(EventFilter.class), "filter", FILTER_DESCRIPTOR, true);
-            mv.visitVarInsn(ASTORE, 2);
-            mv.visitVarInsn(ALOAD, 2);
-            Label l2 = new Label();
-            mv.visitJumpInsn(IFNULL, l2);
+            mv.visitInsn(ARETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "handle", FILTERED_HANDLE_METHOD_DESCRIPTOR, null, new String[] { "java/lang/Exception" });
+            mv.visitCode();
             mv.visitVarInsn(ALOAD, 0);
             mv.visitFieldInsn(GETFIELD, name, "handle", "Ljava/lang/Object;");
             mv.visitTypeInsn(CHECKCAST, handleName);
@@ -182,7 +185,6 @@ private static byte[] generateClass(String name, Class<?> handle, Method method,
                 GeneratorUtils.visitUnboxingMethod(mv, paramType);
             }
             mv.visitMethodInsn(INVOKEVIRTUAL, handleName, method.getName(), eventDescriptor, false);
-            mv.visitLabel(l2);
             mv.visitInsn(RETURN);
             mv.visitMaxs(0, 0);
             mv.visitEnd();
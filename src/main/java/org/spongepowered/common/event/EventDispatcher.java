@@ -0,0 +1,121 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import co.aikar.timings.TimingsManager;
+import org.apache.logging.log4j.Logger;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.impl.AbstractEvent;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+/**
+ * Posts an event to a fixed list of listeners on the main thread.
+ *
+ * <p>Implementations are generated by {@link EventDispatcherFactory} for a
+ * single event type and call every listener from its own call site, leaving
+ * the cause and timing bookkeeping to the helpers of this class.</p>
+ */
+public abstract class EventDispatcher {
+
+    private final RegisteredListener<?>[] listeners;
+    private final Logger logger;
+    @Nullable private ListenerWatchdog watchdog;
+    // The start times of the listeners being called, one per nested post
+    private long[] starts = new long[4];
+    private int depth;
+
+    protected EventDispatcher(RegisteredListener<?>[] listeners, Logger logger) {
+        this.listeners = listeners;
+        this.logger = logger;
+    }
+
+    /**
+     * Posts the event to all listeners.
+     *
+     * @param event The event
+     * @param watchdog The watchdog to record the listener latencies to, or
+     *     null to not record them
+     * @return True if the event was cancelled
+     */
+    public final boolean post(Event event, @Nullable ListenerWatchdog watchdog) {
+        TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
+        final ListenerWatchdog previous = this.watchdog;
+        this.watchdog = watchdog;
+        try {
+            dispatch(event);
+        } finally {
+            this.watchdog = previous;
+        }
+        if (event instanceof AbstractEvent) {
+            ((AbstractEvent) event).currentOrder = null;
+        }
+        return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+    }
+
+    protected abstract void dispatch(Event event);
+
+    protected final CauseStackManager.StackFrame enter(Event event, int index) {
+        final RegisteredListener<?> listener = this.listeners[index];
+        final CauseStackManager causeStackManager = Sponge.getCauseStackManager();
+        causeStackManager.pushCause(listener.getPlugin());
+        final CauseStackManager.StackFrame frame = causeStackManager.pushCauseFrame();
+        listener.getTimingsHandler().startTimingIfSync();
+        setOrder(event, index);
+        if (this.depth == this.starts.length) {
+            this.starts = Arrays.copyOf(this.starts, this.depth << 1);
+        }
+        this.starts[this.depth++] = this.watchdog != null ? System.nanoTime() : 0;
+        return frame;
+    }
+
+    protected final void exit(CauseStackManager.StackFrame frame, int index) {
+        final long start = this.starts[--this.depth];
+        if (start != 0 && this.watchdog != null) {
+            final long nanos = System.nanoTime() - start;
+            this.listeners[index].getLatency().record(nanos);
+            this.watchdog.record(this.listeners[index], nanos);
+        }
+        this.listeners[index].getTimingsHandler().stopTimingIfSync();
+        frame.close();
+        Sponge.getCauseStackManager().popCause();
+    }
+
+    protected final void setOrder(Event event, int index) {
+        if (event instanceof AbstractEvent) {
+            ((AbstractEvent) event).currentOrder = this.listeners[index].getOrder();
+        }
+    }
+
+    protected final void error(Event event, int index, Throwable throwable) {
+        this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), this.listeners[index].getPlugin(), throwable);
+    }
+
+}
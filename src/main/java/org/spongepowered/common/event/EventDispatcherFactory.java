@@ -0,0 +1,262 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACONST_NULL;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PROTECTED;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.BIPUSH;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.ICONST_0;
+import static org.objectweb.asm.Opcodes.IFNULL;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+import org.apache.logging.log4j.Logger;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates an {@link EventDispatcher} for the listeners of an event type.
+ *
+ * <p>The generated dispatcher calls every listener in order from a separate
+ * call site, so each call site only ever sees a single listener class. The
+ * cause frame and timings are skipped for {@link UntrackedEventListener}s,
+ * and the filter of a {@link FilteredEventListener} is evaluated before its
+ * cause frame is entered.</p>
+ */
+public final class EventDispatcherFactory {
+
+    /**
+     * The maximum amount of listeners to generate a dispatcher for, which
+     * keeps the generated method well below the method size limit.
+     */
+    public static final int MAX_LISTENERS = 512;
+
+    private static final String BASE_DISPATCHER = Type.getInternalName(EventDispatcher.class);
+    private static final String LISTENER_NAME = Type.getInternalName(EventListener.class);
+    private static final String LISTENER_DESCRIPTOR = Type.getDescriptor(EventListener.class);
+    private static final String FILTERED_LISTENER_NAME = Type.getInternalName(FilteredEventListener.class);
+    private static final String REGISTERED_LISTENER_NAME = Type.getInternalName(RegisteredListener.class);
+    private static final String EVENT_DESCRIPTOR = Type.getDescriptor(Event.class);
+    private static final String FRAME_DESCRIPTOR = Type.getDescriptor(CauseStackManager.StackFrame.class);
+    private static final String CONSTRUCTOR_DESCRIPTOR = "([" + Type.getDescriptor(RegisteredListener.class) + Type.getDescriptor(Logger.class) + ")V";
+
+    private final AtomicInteger id = new AtomicInteger();
+    private final String targetPackage;
+    private final Logger logger;
+
+    public EventDispatcherFactory(String targetPackage, Logger logger) {
+        checkNotNull(targetPackage, "targetPackage");
+        checkArgument(!targetPackage.isEmpty(), "targetPackage cannot be empty");
+        this.targetPackage = targetPackage + '.';
+        this.logger = checkNotNull(logger, "logger");
+    }
+
+    public EventDispatcher create(Class<?> eventClass, List<RegisteredListener<?>> listeners) throws Exception {
+        checkArgument(listeners.size() <= MAX_LISTENERS, "Too many listeners: %s", listeners.size());
+        final RegisteredListener<?>[] array = listeners.toArray(new RegisteredListener<?>[listeners.size()]);
+        final String name = this.targetPackage + eventClass.getSimpleName() + "Dispatcher_" + this.id.incrementAndGet();
+        // Each dispatcher gets its own class loader so it can be unloaded
+        // once the listeners of its event type change
+        final DefineableClassLoader classLoader = new DefineableClassLoader(EventDispatcher.class.getClassLoader());
+        final Class<? extends EventDispatcher> dispatcherClass = classLoader.defineClass(name, generateClass(name, array));
+        return dispatcherClass.getConstructor(RegisteredListener[].class, Logger.class).newInstance(array, this.logger);
+    }
+
+    private static byte[] generateClass(String name, RegisteredListener<?>[] listeners) {
+        name = name.replace('.', '/');
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        MethodVisitor mv;
+
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, BASE_DISPATCHER, null);
+
+        for (int i = 0; i < listeners.length; i++) {
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "listener" + i, LISTENER_DESCRIPTOR, null, null).visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitMethodInsn(INVOKESPECIAL, BASE_DISPATCHER, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+            for (int i = 0; i < listeners.length; i++) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                visitInt(mv, i);
+                mv.visitInsn(AALOAD);
+                mv.visitMethodInsn(INVOKEVIRTUAL, REGISTERED_LISTENER_NAME, "getListener", "()" + LISTENER_DESCRIPTOR, false);
+                mv.visitFieldInsn(PUTFIELD, name, "listener" + i, LISTENER_DESCRIPTOR);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PROTECTED, "dispatch", '(' + EVENT_DESCRIPTOR + ")V", null, null);
+            mv.visitCode();
+            for (int i = 0; i < listeners.length; i++) {
+                final boolean tracked = listeners[i].isTracked();
+                final boolean filtered = listeners[i].getFilteredListener() != null;
+                final Label start = new Label();
+                final Label end = new Label();
+                final Label handler = new Label();
+                final Label done = new Label();
+                final Label skip = new Label();
+
+                // Local 2 holds the cause frame, local 3 the caught throwable
+                // and local 4 the arguments returned by the filter
+                if (filtered) {
+                    visitFilter(mv, name, i, skip);
+                }
+                mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                visitInt(mv, i);
+                if (tracked) {
+                    mv.visitMethodInsn(INVOKEVIRTUAL, BASE_DISPATCHER, "enter", '(' + EVENT_DESCRIPTOR + "I)" + FRAME_DESCRIPTOR, false);
+                    mv.visitVarInsn(ASTORE, 2);
+                } else {
+                    mv.visitMethodInsn(INVOKEVIRTUAL, BASE_DISPATCHER, "setOrder", '(' + EVENT_DESCRIPTOR + "I)V", false);
+                }
+
+                mv.visitLabel(start);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "listener" + i, LISTENER_DESCRIPTOR);
+                if (filtered) {
+                    mv.visitTypeInsn(CHECKCAST, FILTERED_LISTENER_NAME);
+                    mv.visitVarInsn(ALOAD, 1);
+                    mv.visitVarInsn(ALOAD, 4);
+                    mv.visitMethodInsn(INVOKEVIRTUAL, FILTERED_LISTENER_NAME, "handle", '(' + EVENT_DESCRIPTOR + "[Ljava/lang/Object;)V", false);
+                } else {
+                    mv.visitVarInsn(ALOAD, 1);
+                    mv.visitMethodInsn(INVOKEINTERFACE, LISTENER_NAME, "handle", '(' + EVENT_DESCRIPTOR + ")V", true);
+                }
+                mv.visitLabel(end);
+                mv.visitJumpInsn(GOTO, done);
+
+                mv.visitLabel(handler);
+                mv.visitVarInsn(ASTORE, 3);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                visitInt(mv, i);
+                mv.visitVarInsn(ALOAD, 3);
+                mv.visitMethodInsn(INVOKEVIRTUAL, BASE_DISPATCHER, "error", '(' + EVENT_DESCRIPTOR + "ILjava/lang/Throwable;)V", false);
+
+                mv.visitLabel(done);
+                if (tracked) {
+                    mv.visitVarInsn(ALOAD, 0);
+                    mv.visitVarInsn(ALOAD, 2);
+                    visitInt(mv, i);
+                    mv.visitMethodInsn(INVOKEVIRTUAL, BASE_DISPATCHER, "exit", '(' + FRAME_DESCRIPTOR + "I)V", false);
+                }
+                mv.visitLabel(skip);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        return cw.toByteArray();
+    }
+
+    /**
+     * Evaluates the filter of a listener before its cause frame is entered,
+     * jumping to the given label if the listener should not be called.
+     */
+    private static void visitFilter(MethodVisitor mv, String name, int index, Label skip) {
+        final Label start = new Label();
+        final Label end = new Label();
+        final Label handler = new Label();
+        final Label done = new Label();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        visitInt(mv, index);
+        mv.visitMethodInsn(INVOKEVIRTUAL, BASE_DISPATCHER, "setOrder", '(' + EVENT_DESCRIPTOR + "I)V", false);
+        mv.visitInsn(ACONST_NULL);
+        mv.visitVarInsn(ASTORE, 4);
+        mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+
+        mv.visitLabel(start);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, name, "listener" + index, LISTENER_DESCRIPTOR);
+        mv.visitTypeInsn(CHECKCAST, FILTERED_LISTENER_NAME);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitMethodInsn(INVOKEVIRTUAL, FILTERED_LISTENER_NAME, "filter", '(' + EVENT_DESCRIPTOR + ")[Ljava/lang/Object;", false);
+        mv.visitVarInsn(ASTORE, 4);
+        mv.visitLabel(end);
+        mv.visitJumpInsn(GOTO, done);
+
+        mv.visitLabel(handler);
+        mv.visitVarInsn(ASTORE, 3);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        visitInt(mv, index);
+        mv.visitVarInsn(ALOAD, 3);
+        mv.visitMethodInsn(INVOKEVIRTUAL, BASE_DISPATCHER, "error", '(' + EVENT_DESCRIPTOR + "ILjava/lang/Throwable;)V", false);
+
+        mv.visitLabel(done);
+        mv.visitVarInsn(ALOAD, 4);
+        mv.visitJumpInsn(IFNULL, skip);
+    }
+
+    private static void visitInt(MethodVisitor mv, int value) {
+        if (value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        } else {
+            mv.visitIntInsn(SIPUSH, value);
+        }
+    }
+
+}
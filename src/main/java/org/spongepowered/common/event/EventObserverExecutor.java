@@ -0,0 +1,180 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.Logger;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.filter.CauseLookupCache;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * Calls the observers of posted events on a single thread, in the order the
+ * events were posted. Observers only get the snapshots they took of an event
+ * on the posting thread, never the event itself.
+ *
+ * <p>The amount of queued events is bounded, so a slow observer cannot keep
+ * an unlimited amount of events, and the worlds and entities they reference,
+ * alive. Events posted while the queue is full are dropped for the
+ * observers.</p>
+ */
+public final class EventObserverExecutor {
+
+    private static final long DROP_WARNING_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+    private static final Object FAILED_SNAPSHOT = new Object();
+
+    private final Logger logger;
+    private final AtomicInteger pendingEvents = new AtomicInteger();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong lastDropWarning = new AtomicLong(System.nanoTime() - DROP_WARNING_INTERVAL);
+    @Nullable private volatile ExecutorService executor;
+
+    EventObserverExecutor(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Takes the snapshots of the event on the calling thread and queues them
+     * to be passed to the given observers.
+     *
+     * @param event The event
+     * @param observers The observers
+     * @param trackLatency Whether to record the latencies of the observers
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void submit(Event event, List<RegisteredListener<?>> observers, boolean trackLatency) {
+        final Object[] snapshots = new Object[observers.size()];
+        for (int i = 0; i < snapshots.length; i++) {
+            final RegisteredListener observer = observers.get(i);
+            try {
+                snapshots[i] = observer.snapshot(event);
+            } catch (Throwable e) {
+                this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), observer.getPlugin(), e);
+                snapshots[i] = FAILED_SNAPSHOT;
+            }
+        }
+        this.pendingEvents.incrementAndGet();
+        try {
+            this.execute(event.getClass().getSimpleName(), observers, snapshots, trackLatency);
+        } catch (RejectedExecutionException e) {
+            this.pendingEvents.decrementAndGet();
+            this.onDropped(event);
+        }
+    }
+
+    private void execute(String eventName, List<RegisteredListener<?>> observers, Object[] snapshots, boolean trackLatency) {
+        this.getExecutor().execute(() -> {
+            try {
+                for (int i = 0; i < snapshots.length; i++) {
+                    if (snapshots[i] == FAILED_SNAPSHOT) {
+                        continue;
+                    }
+                    final RegisteredListener<?> observer = observers.get(i);
+                    final long start = System.nanoTime();
+                    try {
+                        observer.observe(snapshots[i]);
+                    } catch (Throwable e) {
+                        this.logger.error("Could not pass {} to {}", eventName, observer.getPlugin(), e);
+                    } finally {
+                        final long nanos = System.nanoTime() - start;
+                        observer.recordObserverTime(nanos);
+                        if (trackLatency) {
+                            observer.getLatency().record(nanos);
+                        }
+                    }
+                }
+            } finally {
+                CauseLookupCache.clear();
+                this.pendingEvents.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Gets the amount of events that are waiting for, or being passed to,
+     * their observers.
+     *
+     * @return The amount of pending events
+     */
+    public int getPendingEvents() {
+        return this.pendingEvents.get();
+    }
+
+    /**
+     * Gets the amount of events that were not passed to their observers
+     * because the queue was full.
+     *
+     * @return The amount of dropped events
+     */
+    public long getDroppedEvents() {
+        return this.droppedEvents.get();
+    }
+
+    private void onDropped(Event event) {
+        final long dropped = this.droppedEvents.incrementAndGet();
+        final long now = System.nanoTime();
+        final long lastWarning = this.lastDropWarning.get();
+        if (now - lastWarning >= DROP_WARNING_INTERVAL && this.lastDropWarning.compareAndSet(lastWarning, now)) {
+            this.logger.warn("The event observer queue is full, {} is not passed to its observers ({} events dropped so far). "
+                    + "An observer is too slow to keep up with the posted events.", event.getClass().getSimpleName(), dropped);
+        }
+    }
+
+    /**
+     * Gets whether any events have been passed to observers.
+     *
+     * @return True if observers are in use
+     */
+    public boolean isActive() {
+        return this.executor != null;
+    }
+
+    private ExecutorService getExecutor() {
+        ExecutorService executor = this.executor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.executor;
+                if (executor == null) {
+                    final int queueSize = Math.max(1, SpongeImpl.getGlobalConfig().getConfig().getEventListeners().getObserverQueueSize());
+                    executor = this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+                            new ThreadFactoryBuilder().setNameFormat("Sponge - Event Observer Thread").setDaemon(true).build());
+                }
+            }
+        }
+        return executor;
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.common.SpongeImpl;
+
+import java.lang.reflect.Field;
+import java.util.function.BiFunction;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reuses a single instance of a frequently posted event on the main thread.
+ *
+ * <p>An event is acquired with its properties, posted, and released once the
+ * caller is done with it. If the instance is still in use, for example when
+ * the event is posted again by one of its own listeners, a new event is
+ * created instead.</p>
+ *
+ * <p>Listeners must not keep references to a recycled event. To detect
+ * that, every few thousand acquisitions a new instance is recycled for a
+ * short time and then sampled by a {@link RetentionSampler}. If the samples
+ * keep surviving garbage collections, recycling is disabled for the
+ * event.</p>
+ *
+ * @param <E> The type of event
+ * @param <T> The type of the property besides the cause
+ */
+public final class EventRecycler<E extends Event, T> {
+
+    private static final int SAMPLE_INTERVAL = 4096;
+    private static final int SAMPLE_USES = 64;
+    private static final int SAMPLE_COLLECTIONS = 3;
+    private static final int SAMPLES = 2;
+
+    private final String property;
+    private final BiFunction<Cause, T, E> factory;
+    @Nullable private E instance;
+    @Nullable private Field causeField;
+    @Nullable private Field propertyField;
+    private boolean inUse;
+    private boolean disabled;
+    private int acquired;
+
+    private final RetentionSampler sampler = new RetentionSampler(SAMPLE_COLLECTIONS, SAMPLES);
+    private int sampleUses;
+    @Nullable private String sampleType;
+
+    /**
+     * Creates a recycler for events created by the given factory.
+     *
+     * @param property The name of the property set besides the cause
+     * @param factory The factory to create the event with
+     */
+    public EventRecycler(String property, BiFunction<Cause, T, E> factory) {
+        this.property = property;
+        this.factory = factory;
+    }
+
+    public E acquire(Cause cause, T value) {
+        if (this.disabled || this.inUse || !Sponge.getServer().isMainThread()
+                || !SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useEventRecycling()) {
+            return this.factory.apply(cause, value);
+        }
+        if (++this.acquired % SAMPLE_INTERVAL == 0) {
+            if (this.sampler.check()) {
+                SpongeImpl.getLogger().warn("A listener kept a reference to a {} after it was posted, disabling recycling for it. "
+                        + "Listeners must not keep events around after they return.", this.sampleType);
+                this.disable();
+                return this.factory.apply(cause, value);
+            }
+            if (!this.sampler.isSampling() && this.sampleUses == 0) {
+                // A long lived instance ends up in the old generation and is
+                // rarely collected, so a new one is recycled for a short time
+                // and sampled afterwards.
+                this.instance = null;
+                this.sampleUses = SAMPLE_USES;
+            }
+        } else if (this.sampleUses > 0 && --this.sampleUses == 0 && this.instance != null) {
+            // The instance is released at this point, nothing else should
+            // reference it once it's replaced
+            this.sampleType = this.instance.getClass().getName();
+            this.sampler.sample(this.instance);
+            this.instance = null;
+        }
+        E event = this.instance;
+        if (event == null) {
+            event = this.factory.apply(cause, value);
+            if (this.causeField == null && !this.resolveFields(event)) {
+                return event;
+            }
+            this.instance = event;
+        } else {
+            try {
+                this.causeField.set(event, cause);
+                this.propertyField.set(event, value);
+            } catch (IllegalAccessException e) {
+                SpongeImpl.getLogger().error("Could not recycle {}, disabling recycling for it", event.getClass().getName(), e);
+                this.disable();
+                return this.factory.apply(cause, value);
+            }
+            if (event instanceof Cancellable) {
+                ((Cancellable) event).setCancelled(false);
+            }
+        }
+        this.inUse = true;
+        return event;
+    }
+
+    /**
+     * Releases the given event after it was posted and inspected.
+     *
+     * @param event The event
+     */
+    public void release(E event) {
+        if (event == this.instance) {
+            // Observers only get their own snapshots of the event
+            this.inUse = false;
+        }
+    }
+
+    private boolean resolveFields(E event) {
+        this.causeField = findField(event.getClass(), "cause");
+        this.propertyField = findField(event.getClass(), this.property);
+        if (this.causeField == null || this.propertyField == null) {
+            SpongeImpl.getLogger().debug("Could not find the fields of {}, disabling recycling for it", event.getClass().getName());
+            this.disable();
+            return false;
+        }
+        return true;
+    }
+
+    private void disable() {
+        this.disabled = true;
+        this.instance = null;
+    }
+
+    @Nullable
+    private static Field findField(Class<?> type, String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                final Field field = current.getDeclaredField(name);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException ignored) {
+                // Try the super class
+            }
+        }
+        return null;
+    }
+
+}
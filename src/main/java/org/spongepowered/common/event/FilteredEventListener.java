@@ -0,0 +1,69 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.spongepowered.api.event.Event;
+
+import javax.annotation.Nullable;
+
+/**
+ * An annotated listener with a filter, which can be evaluated separately so
+ * that listeners whose filter does not match are skipped before any cause
+ * frame or timing is set up for them.
+ */
+public abstract class FilteredEventListener extends AnnotatedEventListener {
+
+    protected FilteredEventListener(Object handle) {
+        super(handle);
+    }
+
+    /**
+     * Evaluates the filter of this listener.
+     *
+     * @param event The event
+     * @return The arguments to call the listener with, or null if the
+     *     listener should not be called
+     */
+    @Nullable
+    public abstract Object[] filter(Event event);
+
+    /**
+     * Calls the listener with the arguments returned by {@link #filter}.
+     *
+     * @param event The event
+     * @param arguments The arguments
+     * @throws Exception If the listener throws an exception
+     */
+    public abstract void handle(Event event, Object[] arguments) throws Exception;
+
+    @Override
+    public final void handle(Event event) throws Exception {
+        final Object[] arguments = filter(event);
+        if (arguments != null) {
+            handle(event, arguments);
+        }
+    }
+
+}
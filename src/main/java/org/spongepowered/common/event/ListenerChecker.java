@@ -29,6 +29,7 @@
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.reflect.TypeToken;
+import org.spongepowered.api.event.Event;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
@@ -42,7 +43,7 @@
 
 public class ListenerChecker {
 
-    private static final boolean ALL_TRUE = Boolean.parseBoolean(System.getProperty("sponge.shouldFireAll", "").toLowerCase());
+    static final boolean ALL_TRUE = Boolean.parseBoolean(System.getProperty("sponge.shouldFireAll", "").toLowerCase());
     private static final boolean DEBUG = Boolean.parseBoolean(System.getProperty("sponge.debugShouldFire", "").toLowerCase());
 
     private final Class<?> clazz;
@@ -138,9 +139,12 @@ public <T> void updateFields(Collection<Class<? super T>> classes, Predicate<Cla
         }
 
         for (Class<?> clazz: classes) {
+            if (!Event.class.isAssignableFrom(clazz)) {
+                continue;
+            }
+            final boolean isEnabled = enable.test(clazz);
+            ShouldFire.setHasListeners(clazz, isEnabled);
             this.fieldCache.getUnchecked(clazz).ifPresent(f -> {
-                boolean isEnabled = enable.test(clazz);
-
                 if (DEBUG) {
                     System.err.println(String.format("Updating field for class %s with value %s", clazz.getName(), isEnabled));
                 }
@@ -0,0 +1,184 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.Nullable;
+
+/**
+ * The latency distribution of a single event listener.
+ *
+ * <p>Latencies are counted in log-linear buckets, each power of two being
+ * split into 8 buckets, which keeps the error of a percentile below 13%
+ * while using a fixed amount of memory. The distribution since the listener
+ * was registered is kept for every post, while the distribution of the
+ * current tick only counts posts on the main thread and is used by the
+ * {@link ListenerWatchdog}.</p>
+ */
+public final class ListenerLatency {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Latencies up to 2^40 nanoseconds, about 18 minutes
+    private static final int MAX_BIT = 39;
+    static final int BUCKET_COUNT = (MAX_BIT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + SUB_BUCKETS;
+
+    @Nullable private volatile AtomicLongArray buckets;
+    @Nullable private long[] tickBuckets;
+    private int tickCount;
+    long tick = -1;
+    int slowTicks;
+
+    /**
+     * Records the latency of a single call.
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    void record(long nanos) {
+        AtomicLongArray buckets = this.buckets;
+        if (buckets == null) {
+            synchronized (this) {
+                buckets = this.buckets;
+                if (buckets == null) {
+                    buckets = this.buckets = new AtomicLongArray(BUCKET_COUNT);
+                }
+            }
+        }
+        buckets.incrementAndGet(bucket(nanos));
+    }
+
+    /**
+     * Records the latency of a single call made during the current tick.
+     * Must only be called from the main thread.
+     *
+     * @param nanos The latency in nanoseconds
+     * @return True if this is the first call recorded this tick
+     */
+    boolean recordTick(long nanos) {
+        if (this.tickBuckets == null) {
+            this.tickBuckets = new long[BUCKET_COUNT];
+        }
+        this.tickBuckets[bucket(nanos)]++;
+        return this.tickCount++ == 0;
+    }
+
+    /**
+     * Gets the latency percentile of the calls recorded this tick and clears
+     * them. Must only be called from the main thread.
+     *
+     * @param percentile The percentile, between 0 and 1
+     * @return The latency in nanoseconds, or 0 if nothing was recorded
+     */
+    long pollTickPercentile(double percentile) {
+        if (this.tickCount == 0) {
+            return 0;
+        }
+        final long[] buckets = this.tickBuckets;
+        final int target = Math.max(1, (int) Math.ceil(percentile * this.tickCount));
+        long value = 0;
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] != 0) {
+                seen += buckets[i];
+                if (seen >= target && value == 0) {
+                    value = highestValue(i);
+                }
+                buckets[i] = 0;
+            }
+        }
+        this.tickCount = 0;
+        return value;
+    }
+
+    /**
+     * Gets the amount of recorded calls.
+     *
+     * @return The amount of calls
+     */
+    public long getCount() {
+        final AtomicLongArray buckets = this.buckets;
+        if (buckets == null) {
+            return 0;
+        }
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the latency percentile over all recorded calls.
+     *
+     * @param percentile The percentile, between 0 and 1
+     * @return The latency in milliseconds, or 0 if nothing was recorded
+     */
+    public double getPercentile(double percentile) {
+        final AtomicLongArray buckets = this.buckets;
+        if (buckets == null) {
+            return 0;
+        }
+        final long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long target = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return highestValue(i) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+            }
+        }
+        return highestValue(BUCKET_COUNT - 1) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    static int bucket(long nanos) {
+        if (nanos < SUB_BUCKETS << 1) {
+            return (int) Math.max(0, nanos);
+        }
+        final int bit = Math.min(63 - Long.numberOfLeadingZeros(nanos), MAX_BIT);
+        final int shift = bit - SUB_BUCKET_BITS;
+        final long mantissa = Math.min(nanos >> shift, (SUB_BUCKETS << 1) - 1);
+        return shift * SUB_BUCKETS + (int) mantissa;
+    }
+
+    static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS << 1) {
+            return bucket;
+        }
+        final int shift = bucket / SUB_BUCKETS - 1;
+        final long mantissa = bucket - shift * SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+}
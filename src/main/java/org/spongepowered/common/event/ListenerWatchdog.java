@@ -0,0 +1,116 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.apache.logging.log4j.Logger;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.EventListenerCategory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the latency of the listeners called on the main thread, and logs
+ * or unregisters a listener whose p99 latency stays over the configured
+ * threshold for several consecutive ticks.
+ */
+public final class ListenerWatchdog {
+
+    private final SpongeEventManager eventManager;
+    private final Logger logger;
+    // The listeners called during the current tick
+    private final List<RegisteredListener<?>> called = new ArrayList<>();
+    // The listeners that were slow during the previous tick
+    private List<RegisteredListener<?>> slow = new ArrayList<>();
+    private long tick;
+
+    ListenerWatchdog(SpongeEventManager eventManager, Logger logger) {
+        this.eventManager = eventManager;
+        this.logger = logger;
+    }
+
+    /**
+     * Records the latency of a listener call made on the main thread.
+     *
+     * @param listener The listener
+     * @param nanos The latency in nanoseconds
+     */
+    void record(RegisteredListener<?> listener, long nanos) {
+        if (listener.getLatency().recordTick(nanos)) {
+            this.called.add(listener);
+        }
+    }
+
+    /**
+     * Checks the listeners called during the tick that just ended.
+     */
+    public void tick() {
+        this.tick++;
+        if (this.called.isEmpty() && this.slow.isEmpty()) {
+            return;
+        }
+        final EventListenerCategory config = SpongeImpl.getGlobalConfig().getConfig().getEventListeners();
+        final long threshold = (long) (config.getWatchdogThreshold() * TimeUnit.MILLISECONDS.toNanos(1));
+        final List<RegisteredListener<?>> slow = new ArrayList<>();
+        List<RegisteredListener<?>> disable = null;
+        for (RegisteredListener<?> listener : this.called) {
+            final ListenerLatency latency = listener.getLatency();
+            latency.tick = this.tick;
+            final long p99 = latency.pollTickPercentile(0.99);
+            if (threshold <= 0 || p99 <= threshold) {
+                latency.slowTicks = 0;
+                continue;
+            }
+            if (++latency.slowTicks < config.getWatchdogTicks()) {
+                slow.add(listener);
+                continue;
+            }
+            latency.slowTicks = 0;
+            this.logger.warn("Listener {} of plugin {} for {} had a p99 latency of {}ms for {} consecutive ticks{}",
+                    listener.getHandle().getClass().getName(), listener.getPlugin().getId(), listener.getEventClass().getSimpleName(),
+                    p99 / (double) TimeUnit.MILLISECONDS.toNanos(1), config.getWatchdogTicks(),
+                    config.isWatchdogDisable() ? ", unregistering it" : "");
+            if (config.isWatchdogDisable()) {
+                if (disable == null) {
+                    disable = new ArrayList<>();
+                }
+                disable.add(listener);
+            }
+        }
+        for (RegisteredListener<?> listener : this.slow) {
+            if (listener.getLatency().tick != this.tick) {
+                // Not called this tick, so no longer consecutively slow
+                listener.getLatency().slowTicks = 0;
+            }
+        }
+        this.called.clear();
+        this.slow = slow;
+        if (disable != null) {
+            this.eventManager.unregisterRegistrations(disable);
+        }
+    }
+
+}
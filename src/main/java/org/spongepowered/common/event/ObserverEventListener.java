@@ -0,0 +1,68 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+
+/**
+ * An {@link EventListener} that only observes events.
+ *
+ * <p>After all other listeners of an event have been called, the observer
+ * takes a snapshot of the data it needs on the thread that posted the event.
+ * The snapshot is observed off the main thread, in the order the events were
+ * posted. The event itself is never passed to the observer thread, as it may
+ * still be changed by the code that posted it.</p>
+ *
+ * @param <T> The type of event
+ * @param <S> The type of snapshot
+ */
+public interface ObserverEventListener<T extends Event, S> extends EventListener<T> {
+
+    /**
+     * Captures the data to observe from the event, on the thread that posted
+     * it. The snapshot must be immutable and must not reference the event or
+     * any of its mutable values.
+     *
+     * @param event The event
+     * @return The snapshot
+     */
+    S snapshot(T event);
+
+    /**
+     * Observes a snapshot, off the main thread. Only thread safe methods
+     * may be called from here.
+     *
+     * @param snapshot The snapshot
+     * @throws Exception If an error occurs
+     */
+    void observe(S snapshot) throws Exception;
+
+    @Override
+    default void handle(T event) throws Exception {
+        observe(snapshot(event));
+    }
+
+}
@@ -34,9 +34,14 @@
 import org.spongepowered.api.event.EventListener;
 import org.spongepowered.api.event.Order;
 import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
 
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
 
 public final class RegisteredListener<T extends Event> implements SpongeEventListener<T>, Comparable<RegisteredListener<?>> {
 
@@ -46,8 +51,14 @@
     private final Order order;
 
     private final EventListener<? super T> listener;
+    @Nullable private final FilteredEventListener filteredListener;
 
     private final boolean beforeModifications;
+    private final boolean tracked;
+    private final boolean observer;
+    private final LongAdder observerTime = new LongAdder();
+    private final LongAdder observerCalls = new LongAdder();
+    private final ListenerLatency latency = new ListenerLatency();
     private Timing listenerTimer;
 
     RegisteredListener(PluginContainer plugin, Class<T> eventClass, Order order, EventListener<? super T> listener, boolean beforeModifications) {
@@ -55,7 +66,10 @@
         this.eventClass = checkNotNull(eventClass, "eventClass");
         this.order = checkNotNull(order, "order");
         this.listener = checkNotNull(listener, "listener");
+        this.filteredListener = listener instanceof FilteredEventListener ? (FilteredEventListener) listener : null;
         this.beforeModifications = beforeModifications;
+        this.tracked = !(listener instanceof UntrackedEventListener);
+        this.observer = listener instanceof ObserverEventListener;
     }
 
     public PluginContainer getPlugin() {
@@ -74,6 +88,73 @@ public boolean isBeforeModifications() {
         return this.beforeModifications;
     }
 
+    /**
+     * Gets whether this listener is called with its own cause frame and
+     * timings.
+     *
+     * @return True unless the listener is an {@link UntrackedEventListener}
+     */
+    public boolean isTracked() {
+        return this.tracked;
+    }
+
+    /**
+     * Gets whether this listener only observes events, and is called off the
+     * main thread after all other listeners.
+     *
+     * @return True if this listener is an observer
+     */
+    public boolean isObserver() {
+        return this.observer;
+    }
+
+    void recordObserverTime(long nanos) {
+        this.observerTime.add(nanos);
+        this.observerCalls.increment();
+    }
+
+    /**
+     * Gets the total time this listener spent observing events.
+     *
+     * @return The time in nanoseconds
+     */
+    public long getObserverTime() {
+        return this.observerTime.sum();
+    }
+
+    /**
+     * Gets the amount of events this listener observed.
+     *
+     * @return The amount of events
+     */
+    public long getObserverCalls() {
+        return this.observerCalls.sum();
+    }
+
+    /**
+     * Gets the latency distribution of this listener, which is only recorded
+     * if latency tracking is enabled.
+     *
+     * @return The latency distribution
+     */
+    public ListenerLatency getLatency() {
+        return this.latency;
+    }
+
+    public EventListener<? super T> getListener() {
+        return this.listener;
+    }
+
+    /**
+     * Gets the listener if its filter can be evaluated before it is called.
+     *
+     * @return The filtered listener, or null if the listener has no filter
+     */
+    @Nullable
+    public FilteredEventListener getFilteredListener() {
+        return this.filteredListener;
+    }
+
     public Timing getTimingsHandler() {
         if (this.listenerTimer == null) {
             this.listenerTimer = SpongeTimings.getPluginTimings(this.plugin, getHandle().getClass().getSimpleName());
@@ -95,6 +176,29 @@ public void handle(T event) throws Exception {
         this.listener.handle(event);
     }
 
+    /**
+     * Takes the snapshot of the event to observe, this listener must be an
+     * observer.
+     *
+     * @param event The event
+     * @return The snapshot
+     */
+    @SuppressWarnings("unchecked")
+    Object snapshot(T event) {
+        return ((ObserverEventListener<? super T, ?>) this.listener).snapshot(event);
+    }
+
+    /**
+     * Observes a snapshot taken by {@link #snapshot(Event)}.
+     *
+     * @param snapshot The snapshot
+     * @throws Exception If an error occurs
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void observe(Object snapshot) throws Exception {
+        ((ObserverEventListener) this.listener).observe(snapshot);
+    }
+
     @Override
     public int compareTo(RegisteredListener<?> handler) {
         return this.order.compareTo(handler.order);
@@ -103,18 +207,34 @@ public int compareTo(RegisteredListener<?> handler) {
     public static final class Cache {
 
         private final List<RegisteredListener<?>> listeners;
+        private final List<RegisteredListener<?>> observers;
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
 
         private static final Order[] ORDERS = Order.values();
 
-        Cache(List<RegisteredListener<?>> listeners) {
-            this.listeners = listeners;
+        /**
+         * The amount of posts before a dispatcher is generated, so that short
+         * lived caches of rarely posted events don't define classes.
+         */
+        private static final int DISPATCHER_THRESHOLD = 64;
+
+        private final Class<?> eventClass;
+        @Nullable private EventDispatcher dispatcher;
+        private int posts;
+
+        Cache(Class<?> eventClass, List<RegisteredListener<?>> listeners) {
+            this.eventClass = eventClass;
+            this.listeners = new ArrayList<>(listeners.size());
+            this.observers = new ArrayList<>(0);
+            for (RegisteredListener<?> handler : listeners) {
+                (handler.isObserver() ? this.observers : this.listeners).add(handler);
+            }
 
             this.listenersByOrder = Maps.newEnumMap(Order.class);
             for (Order order : ORDERS) {
                 this.listenersByOrder.put(order, Lists.<RegisteredListener<?>>newArrayList());
             }
-            for (RegisteredListener<?> handler : listeners) {
+            for (RegisteredListener<?> handler : this.listeners) {
                 this.listenersByOrder.get(handler.getOrder()).add(handler);
             }
         }
@@ -123,10 +243,43 @@ public List<RegisteredListener<?>> getListeners() {
             return this.listeners;
         }
 
+        /**
+         * Gets the listeners that only observe the event, which are not
+         * included in the other listener lists.
+         *
+         * @return The observers
+         */
+        public List<RegisteredListener<?>> getObservers() {
+            return this.observers;
+        }
+
         public List<RegisteredListener<?>> getListenersByOrder(Order order) {
             return this.listenersByOrder.get(checkNotNull(order, "order"));
         }
 
+        /**
+         * Gets the generated dispatcher for these listeners, generating it
+         * once the event type has been posted often enough. Must only be
+         * called from the main thread.
+         *
+         * @param factory The factory to generate the dispatcher with
+         * @return The dispatcher, or null if it isn't available (yet)
+         */
+        @Nullable
+        EventDispatcher getDispatcher(EventDispatcherFactory factory) {
+            if (this.dispatcher == null && this.posts <= DISPATCHER_THRESHOLD && ++this.posts > DISPATCHER_THRESHOLD) {
+                if (this.listeners.size() > EventDispatcherFactory.MAX_LISTENERS) {
+                    return null;
+                }
+                try {
+                    this.dispatcher = factory.create(this.eventClass, this.listeners);
+                } catch (Throwable e) {
+                    SpongeImpl.getLogger().error("Failed to generate the event dispatcher for {}", this.eventClass.getName(), e);
+                }
+            }
+            return this.dispatcher;
+        }
+
     }
 
 }
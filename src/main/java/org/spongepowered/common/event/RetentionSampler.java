@@ -0,0 +1,122 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Detects if instances that are no longer used are still referenced
+ * somewhere, by weakly referencing them and checking whether they survive a
+ * few garbage collections.
+ *
+ * <p>Sampled instances should be short lived. An instance that was promoted
+ * to the old generation may survive many young collections without being
+ * referenced, so a leak is only reported once several samples in a row
+ * survived.</p>
+ */
+final class RetentionSampler {
+
+    private final LongSupplier collections;
+    private final int requiredCollections;
+    private final int requiredSamples;
+
+    @Nullable private WeakReference<Object> sample;
+    private long sampleCollections;
+    private int retainedSamples;
+
+    /**
+     * Creates a sampler that counts the collections of all garbage
+     * collectors.
+     *
+     * @param requiredCollections The collections a sample has to survive
+     * @param requiredSamples The samples in a row that have to survive
+     */
+    RetentionSampler(int requiredCollections, int requiredSamples) {
+        this(RetentionSampler::getCollections, requiredCollections, requiredSamples);
+    }
+
+    RetentionSampler(LongSupplier collections, int requiredCollections, int requiredSamples) {
+        this.collections = collections;
+        this.requiredCollections = requiredCollections;
+        this.requiredSamples = requiredSamples;
+    }
+
+    /**
+     * Gets whether a sample is currently watched.
+     *
+     * @return True if a sample is watched
+     */
+    boolean isSampling() {
+        return this.sample != null;
+    }
+
+    /**
+     * Starts to watch the given instance, the caller must not reference it
+     * anymore.
+     *
+     * @param instance The instance
+     */
+    void sample(Object instance) {
+        this.sample = new WeakReference<>(instance);
+        this.sampleCollections = this.collections.getAsLong();
+    }
+
+    /**
+     * Checks the watched sample.
+     *
+     * @return True if enough samples in a row survived to consider them
+     *     leaked
+     */
+    boolean check() {
+        if (this.sample == null) {
+            return false;
+        }
+        if (this.sample.get() == null) {
+            this.sample = null;
+            this.retainedSamples = 0;
+            return false;
+        }
+        if (this.collections.getAsLong() - this.sampleCollections < this.requiredCollections) {
+            // Not enough collections yet, check again later
+            return false;
+        }
+        this.sample = null;
+        return ++this.retainedSamples >= this.requiredSamples;
+    }
+
+    private static long getCollections() {
+        long collections = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collections += Math.max(0, bean.getCollectionCount());
+        }
+        return collections;
+    }
+
+}
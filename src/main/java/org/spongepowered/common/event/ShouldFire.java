@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.event;
 
+import org.spongepowered.api.event.Event;
+
 public class ShouldFire {
 
     // Format is event class name with underscores
@@ -63,4 +65,41 @@ public class ShouldFire {
     public static boolean DEFUSE_EXPLOSIVE_EVENT_POST = false;
 
     public static boolean TICK_BLOCK_EVENT = false;
+
+    public static boolean MOVE_ENTITY_EVENT = false;
+
+    // The fields above are kept for the hottest paths, every other event
+    // type can be checked through the table below, which is filled in by
+    // the ListenerChecker for the whole hierarchy of every listener's event.
+    private static final ClassValue<Flag> FLAGS = new ClassValue<Flag>() {
+
+        @Override
+        protected Flag computeValue(Class<?> type) {
+            return new Flag(ListenerChecker.ALL_TRUE);
+        }
+    };
+
+    /**
+     * Gets whether the given event type, or any of its subtypes, has
+     * listeners registered.
+     *
+     * @param eventType The event type
+     * @return True if an event of the type may have listeners
+     */
+    public static boolean hasListeners(Class<? extends Event> eventType) {
+        return FLAGS.get(eventType).value;
+    }
+
+    static void setHasListeners(Class<?> eventType, boolean value) {
+        FLAGS.get(eventType).value = value;
+    }
+
+    private static final class Flag {
+
+        boolean value;
+
+        Flag(boolean value) {
+            this.value = value;
+        }
+    }
 }
@@ -39,6 +39,7 @@
 import org.spongepowered.asm.util.PrettyPrinter;
 import org.spongepowered.common.SpongeImpl;
 
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -60,6 +61,12 @@ public class SpongeCauseStackManager implements CauseStackManager {
     private int min_depth = 0;
     private Cause cached_cause;
     private EventContext cached_ctx;
+    // The causes built for each depth of the cause stack. A cause can be
+    // reused while the objects below its root have not been popped, its
+    // root is on top of the stack again and it was built with the current
+    // context. This makes pushing the same object over and over again, or
+    // popping back to an earlier depth, free of allocations.
+    private Cause[] depth_causes = new Cause[16];
 
     @Inject
     private SpongeCauseStackManager() { }
@@ -75,11 +82,21 @@ private void enforceMainThread() {
     public Cause getCurrentCause() {
         enforceMainThread();
         if (this.cached_cause == null || this.cached_ctx == null) {
-            if (this.cause.isEmpty()) {
-                this.cached_cause = Cause.of(getCurrentContext(), SpongeImpl.getGame());
-            } else {
-                this.cached_cause = Cause.of(getCurrentContext(), this.cause);
+            final EventContext context = getCurrentContext();
+            final int depth = this.cause.size();
+            Cause cause = depth < this.depth_causes.length ? this.depth_causes[depth] : null;
+            if (cause == null || cause.getContext() != context || (depth > 0 && cause.root() != this.cause.peek())) {
+                if (this.cause.isEmpty()) {
+                    cause = Cause.of(context, SpongeImpl.getGame());
+                } else {
+                    cause = Cause.of(context, this.cause);
+                }
+                if (depth >= this.depth_causes.length) {
+                    this.depth_causes = Arrays.copyOf(this.depth_causes, Math.max(depth + 1, this.depth_causes.length * 2));
+                }
+                this.depth_causes[depth] = cause;
             }
+            this.cached_cause = cause;
         }
         return this.cached_cause;
     }
@@ -110,7 +127,19 @@ public Object popCause() {
                     + this.cause.size() + " but mid depth is " + this.min_depth + ")");
         }
         this.cached_cause = null;
-        return this.cause.pop();
+        final Object popped = this.cause.pop();
+        this.invalidateDepth(this.cause.size() + 2);
+        return popped;
+    }
+
+    /**
+     * Drops the cause built for the given depth. Called with the depth above
+     * a popped object, as that cause holds the popped object below its root.
+     */
+    private void invalidateDepth(int depth) {
+        if (depth < this.depth_causes.length) {
+            this.depth_causes[depth] = null;
+        }
     }
 
     @Override
@@ -131,6 +160,7 @@ public Object peekCause() {
     public StackFrame pushCauseFrame() {
         enforceMainThread();
         CauseStackFrameImpl frame = new CauseStackFrameImpl(this.min_depth);
+        frame.old_ctx = this.cached_ctx;
         this.frames.push(frame);
         this.min_depth = this.cause.size();
         if (DEBUG_CAUSE_FRAMES) {
@@ -219,11 +249,15 @@ public void popCauseFrame(StackFrame oldFrame) {
             ctx_invalid = true;
         }
         if (ctx_invalid) {
-            this.cached_ctx = null;
+            // The context is now the same as when the frame was pushed, so the
+            // context built back then can be used again
+            this.cached_ctx = frame.old_ctx;
+            this.cached_cause = null;
         }
         // If there were any objects left on the stack then we pop them off
         while (this.cause.size() > this.min_depth) {
             this.cause.pop();
+            this.invalidateDepth(this.cause.size() + 2);
 
             // and clear the cached causes
             this.cached_cause = null;
@@ -279,6 +313,8 @@ public static class CauseStackFrameImpl implements StackFrame {
         // lazy loaded
         @Nullable private Map<EventContextKey<?>, Object> stored_ctx_values;
         @Nullable private Set<EventContextKey<?>> new_ctx_values;
+        // The context that was built when the frame was pushed
+        @Nullable EventContext old_ctx;
         public int old_min_depth;
 
         public Exception stack_debug = null;
@@ -28,11 +28,8 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import co.aikar.timings.TimingsManager;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
-import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import com.google.common.reflect.TypeToken;
 import org.apache.logging.log4j.Logger;
@@ -48,16 +45,17 @@
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.plugin.PluginManager;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.filter.CauseLookupCache;
 import org.spongepowered.common.event.filter.FilterFactory;
 import org.spongepowered.common.event.gen.DefineableClassLoader;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -78,62 +76,69 @@ public class SpongeEventManager implements EventManager {
     private final DefineableClassLoader classLoader = new DefineableClassLoader(getClass().getClassLoader());
     private final AnnotatedEventListener.Factory handlerFactory = new ClassEventListenerFactory("org.spongepowered.common.event.listener",
             new FilterFactory("org.spongepowered.common.event.filters", this.classLoader), this.classLoader);
-    private final Multimap<Class<?>, RegisteredListener<?>> handlersByEvent = HashMultimap.create();
-    private final Set<Object> registeredListeners = Sets.newHashSet();
+    private final EventDispatcherFactory dispatcherFactory;
+    private final EventObserverExecutor observerExecutor;
+    private final ListenerWatchdog watchdog;
+    /**
+     * The registered handlers by event type. The multimap is replaced as a
+     * whole while holding the lock whenever handlers are added or removed, so
+     * that it can be read without locking.
+     */
+    private volatile ImmutableSetMultimap<Class<?>, RegisteredListener<?>> handlersByEvent = ImmutableSetMultimap.of();
+    private final Set<Object> registeredListeners = Sets.newConcurrentHashSet();
 
     public final ListenerChecker checker = new ListenerChecker(ShouldFire.class);
 
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * <p>Only the entries of the event types that are affected by added or
+     * removed handlers are invalidated.</p>
      */
-    private final LoadingCache<Class<? extends Event>, RegisteredListener.Cache> handlersCache =
-            Caffeine.newBuilder().initialCapacity(150).build((eventClass) -> bakeHandlers(eventClass));
+    private final ConcurrentHashMap<Class<? extends Event>, RegisteredListener.Cache> handlersCache = new ConcurrentHashMap<>(150, 0.75f, 1);
 
     @Inject
     public SpongeEventManager(Logger logger, PluginManager pluginManager) {
         this.logger = logger;
         this.pluginManager = checkNotNull(pluginManager, "pluginManager");
-
-        // Caffeine offers no control over the concurrency level of the
-        // ConcurrentHashMap which backs the cache. By default this concurrency
-        // level is 16. We replace the backing map before any use can occur
-        // a new ConcurrentHashMap with a concurrency level of 1
-        try {
-            // Cache impl class is UnboundedLocalLoadingCache which extends
-            // UnboundedLocalManualCache
-
-            // UnboundedLocalManualCache has a field 'cache' with an
-            // UnboundedLocalCache which contains the actual backing map
-            Field innerCache = this.handlersCache.getClass().getSuperclass().getDeclaredField("cache");
-            innerCache.setAccessible(true);
-            Object innerCacheValue = innerCache.get(this.handlersCache);
-            Class<?> innerCacheClass = innerCacheValue.getClass(); // UnboundedLocalCache
-            Field cacheData = innerCacheClass.getDeclaredField("data");
-            cacheData.setAccessible(true);
-            ConcurrentHashMap<Class<? extends Event>, RegisteredListener.Cache> newBackingData = new ConcurrentHashMap<>(150, 0.75f, 1);
-            cacheData.set(innerCacheValue, newBackingData);
-        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-            this.logger.warn("Failed to set event cache backing array, type was " + this.handlersCache.getClass().getName());
-            this.logger.warn("  Caused by: " + e.getClass().getName() + ": " + e.getMessage());
-        }
+        this.dispatcherFactory = new EventDispatcherFactory("org.spongepowered.common.event.dispatcher", logger);
+        this.observerExecutor = new EventObserverExecutor(logger);
+        this.watchdog = new ListenerWatchdog(this, logger);
     }
 
     <T extends Event> RegisteredListener.Cache bakeHandlers(Class<T> rootEvent) {
+        return bakeHandlers(rootEvent, this.handlersByEvent);
+    }
+
+    private static <T extends Event> RegisteredListener.Cache bakeHandlers(Class<T> rootEvent,
+            ImmutableSetMultimap<Class<?>, RegisteredListener<?>> handlersByEvent) {
         List<RegisteredListener<?>> handlers = Lists.newArrayList();
         Set<Class<? super T>> types = TypeToken.of(rootEvent).getTypes().rawTypes();
 
-        synchronized (this.lock) {
-            for (Class<? super T> type : types) {
-                if (Event.class.isAssignableFrom(type)) {
-                    handlers.addAll(this.handlersByEvent.get(type));
-                }
+        for (Class<? super T> type : types) {
+            if (Event.class.isAssignableFrom(type)) {
+                handlers.addAll(handlersByEvent.get(type));
             }
         }
 
         Collections.sort(handlers);
-        return new RegisteredListener.Cache(handlers);
+        return new RegisteredListener.Cache(rootEvent, handlers);
+    }
+
+    /**
+     * Removes the cached handlers of the given event types and all of their
+     * subtypes. Must be called after the changed handlers were published.
+     *
+     * @param eventClasses The event types whose handlers changed
+     */
+    private void invalidateHandlers(Set<Class<?>> eventClasses) {
+        for (Class<? extends Event> cached : this.handlersCache.keySet()) {
+            for (Class<?> eventClass : eventClasses) {
+                if (eventClass.isAssignableFrom(cached)) {
+                    this.handlersCache.remove(cached);
+                    break;
+                }
+            }
+        }
     }
 
     @Nullable
@@ -171,19 +176,27 @@ private void register(RegisteredListener<? extends Event> handler) {
     }
 
     private void register(List<RegisteredListener<? extends Event>> handlers) {
-        boolean changed = false;
+        final Set<Class<?>> changed = new HashSet<>();
 
         synchronized (this.lock) {
+            final ImmutableSetMultimap<Class<?>, RegisteredListener<?>> current = this.handlersByEvent;
+            final ImmutableSetMultimap.Builder<Class<?>, RegisteredListener<?>> builder = ImmutableSetMultimap.builder();
+            builder.putAll(current);
             for (RegisteredListener<?> handler : handlers) {
-                if (this.handlersByEvent.put(handler.getEventClass(), handler)) {
-                    changed = true;
-                    this.checker.registerListenerFor(handler.getEventClass());
+                if (!current.containsEntry(handler.getEventClass(), handler)) {
+                    builder.put(handler.getEventClass(), handler);
+                    if (changed.add(handler.getEventClass())) {
+                        this.checker.registerListenerFor(handler.getEventClass());
+                    }
                 }
             }
+            if (!changed.isEmpty()) {
+                this.handlersByEvent = builder.build();
+            }
         }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
+        if (!changed.isEmpty()) {
+            invalidateHandlers(changed);
         }
     }
 
@@ -204,7 +217,8 @@ private void disableFields(Collection<RegisteredListener<? extends Event>> handl
 
     // Override in SpongeModEventManager
     protected boolean hasAnyListeners(Class<? extends Event> clazz) {
-        return !this.handlersCache.get(clazz).getListeners().isEmpty();
+        final RegisteredListener.Cache cache = getHandlerCache(clazz);
+        return !cache.getListeners().isEmpty() || !cache.getObservers().isEmpty();
     }
 
     public void registerListener(PluginContainer plugin, Object listenerObject) {
@@ -304,23 +318,31 @@ public <T extends Event> void registerListener(Object plugin, Class<T> eventClas
     }
 
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
-        boolean changed = false;
+        final Set<Class<?>> changed = new HashSet<>();
 
         synchronized (this.lock) {
-            Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
-            while (itr.hasNext()) {
-                RegisteredListener<?> handler = itr.next();
+            final ImmutableSetMultimap.Builder<Class<?>, RegisteredListener<?>> builder = ImmutableSetMultimap.builder();
+            for (Map.Entry<Class<?>, RegisteredListener<?>> entry : this.handlersByEvent.entries()) {
+                final RegisteredListener<?> handler = entry.getValue();
                 if (unregister.test(handler)) {
-                    itr.remove();
-                    changed = true;
-                    this.checker.unregisterListenerFor(handler.getEventClass());
+                    changed.add(entry.getKey());
                     this.registeredListeners.remove(handler.getHandle());
+                } else {
+                    builder.put(entry);
+                }
+            }
+            if (!changed.isEmpty()) {
+                this.handlersByEvent = builder.build();
+                for (Class<?> eventClass : changed) {
+                    if (!this.handlersByEvent.containsKey(eventClass)) {
+                        this.checker.unregisterListenerFor(eventClass);
+                    }
                 }
             }
         }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
+        if (!changed.isEmpty()) {
+            invalidateHandlers(changed);
         }
     }
 
@@ -336,16 +358,48 @@ public void unregisterPluginListeners(Object pluginObj) {
         unregister(handler -> plugin.equals(handler.getPlugin()));
     }
 
+    void unregisterRegistrations(Collection<RegisteredListener<?>> listeners) {
+        unregister(listeners::contains);
+    }
+
+    /**
+     * Gets all registered listeners.
+     *
+     * @return The listeners
+     */
+    public List<RegisteredListener<?>> getRegisteredListeners() {
+        return new ArrayList<>(this.handlersByEvent.values());
+    }
+
     protected RegisteredListener.Cache getHandlerCache(Event event) {
-        return this.handlersCache.get(checkNotNull(event, "event").getClass());
+        return getHandlerCache(checkNotNull(event, "event").getClass());
+    }
+
+    private RegisteredListener.Cache getHandlerCache(Class<? extends Event> eventClass) {
+        RegisteredListener.Cache cache = this.handlersCache.get(eventClass);
+        if (cache == null) {
+            final ImmutableSetMultimap<Class<?>, RegisteredListener<?>> handlersByEvent = this.handlersByEvent;
+            cache = bakeHandlers(eventClass, handlersByEvent);
+            final RegisteredListener.Cache existing = this.handlersCache.putIfAbsent(eventClass, cache);
+            if (existing != null) {
+                cache = existing;
+            } else if (handlersByEvent != this.handlersByEvent) {
+                // The handlers changed while baking, the invalidation may
+                // have missed this entry
+                this.handlersCache.remove(eventClass, cache);
+            }
+        }
+        return cache;
     }
 
     @SuppressWarnings("unchecked")
     protected boolean post(Event event, List<RegisteredListener<?>> handlers) {
+        final boolean trackLatency = isLatencyTracking();
         if(!Sponge.getServer().isMainThread()) {
             // If this event is being posted asynchronously then we don't want
             // to do any timing or cause stack changes
             for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
+                final long start = trackLatency ? System.nanoTime() : 0;
                 try {
                     if (event instanceof AbstractEvent) {
                         ((AbstractEvent) event).currentOrder = handler.getOrder();
@@ -353,6 +407,10 @@ protected boolean post(Event event, List<RegisteredListener<?>> handlers) {
                     handler.handle(event);
                 } catch (Throwable e) {
                     SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
+                } finally {
+                    if (trackLatency) {
+                        handler.getLatency().record(System.nanoTime() - start);
+                    }
                 }
             }
             if (event instanceof AbstractEvent) {
@@ -362,17 +420,43 @@ protected boolean post(Event event, List<RegisteredListener<?>> handlers) {
         }
         TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
         for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
+            final FilteredEventListener filteredListener = handler.getFilteredListener();
+            Object[] arguments = null;
+            if (filteredListener != null) {
+                // Skip listeners that won't be called before setting up their cause frame
+                if (event instanceof AbstractEvent) {
+                    ((AbstractEvent) event).currentOrder = handler.getOrder();
+                }
+                try {
+                    arguments = filteredListener.filter(event);
+                } catch (Throwable e) {
+                    this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
+                }
+                if (arguments == null) {
+                    continue;
+                }
+            }
             Sponge.getCauseStackManager().pushCause(handler.getPlugin());
+            final long start = trackLatency ? System.nanoTime() : 0;
             try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
                 handler.getTimingsHandler().startTimingIfSync();
                 if (event instanceof AbstractEvent) {
                     ((AbstractEvent) event).currentOrder = handler.getOrder();
                 }
-                handler.handle(event);
+                if (arguments != null) {
+                    filteredListener.handle(event, arguments);
+                } else {
+                    handler.handle(event);
+                }
             } catch (Throwable e) {
                 this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
             } finally {
                 handler.getTimingsHandler().stopTimingIfSync();
+                if (trackLatency) {
+                    final long nanos = System.nanoTime() - start;
+                    handler.getLatency().record(nanos);
+                    this.watchdog.record(handler, nanos);
+                }
             }
             Sponge.getCauseStackManager().popCause();
         }
@@ -385,7 +469,44 @@ protected boolean post(Event event, List<RegisteredListener<?>> handlers) {
 
     @Override
     public boolean post(Event event) {
-        return post(event, getHandlerCache(event).getListeners());
+        final RegisteredListener.Cache cache = getHandlerCache(event);
+        boolean cancelled = false;
+        boolean posted = false;
+        if (this.useCompiledDispatch() && Sponge.getServer().isMainThread()) {
+            final EventDispatcher dispatcher = cache.getDispatcher(this.dispatcherFactory);
+            if (dispatcher != null) {
+                cancelled = dispatcher.post(event, isLatencyTracking() ? this.watchdog : null);
+                posted = true;
+            }
+        }
+        if (!posted) {
+            cancelled = post(event, cache.getListeners());
+        }
+        postToObservers(event, cache);
+        CauseLookupCache.clear();
+        return cancelled;
+    }
+
+    private void postToObservers(Event event, RegisteredListener.Cache cache) {
+        if (!cache.getObservers().isEmpty()) {
+            this.observerExecutor.submit(event, cache.getObservers(), isLatencyTracking());
+        }
+    }
+
+    public EventObserverExecutor getObserverExecutor() {
+        return this.observerExecutor;
+    }
+
+    public ListenerWatchdog getWatchdog() {
+        return this.watchdog;
+    }
+
+    private static boolean isLatencyTracking() {
+        return SpongeImpl.getGlobalConfig().getConfig().getEventListeners().isLatencyTracking();
+    }
+
+    private boolean useCompiledDispatch() {
+        return SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useCompiledEventDispatch();
     }
 
     public boolean post(Event event, boolean allowClientThread) {
@@ -393,7 +514,14 @@ public boolean post(Event event, boolean allowClientThread) {
     }
 
     public boolean post(Event event, Order order) {
-        return post(event, getHandlerCache(event).getListenersByOrder(order));
+        final RegisteredListener.Cache cache = getHandlerCache(event);
+        final boolean cancelled = post(event, cache.getListenersByOrder(order));
+        if (order == Order.POST) {
+            // Observers run after the last order
+            postToObservers(event, cache);
+        }
+        CauseLookupCache.clear();
+        return cancelled;
     }
 
 }
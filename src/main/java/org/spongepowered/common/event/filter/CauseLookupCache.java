@@ -0,0 +1,136 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.filter;
+
+import org.spongepowered.api.event.cause.Cause;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * Remembers the cause lookups made by generated event filters, so that the
+ * listeners of a single post share the result of a lookup such as
+ * {@code cause.first(Player.class)} instead of each searching the cause.
+ *
+ * <p>Causes are immutable, so lookups are remembered for as long as the
+ * same cause instance is filtered on the current thread. The lookups are
+ * cleared once a post completes, so that no cause is kept alive.</p>
+ */
+public final class CauseLookupCache {
+
+    private static final int FIRST = 0;
+    private static final int LAST = 1;
+    private static final int BEFORE = 2;
+    private static final int AFTER = 3;
+    private static final int ALL_OF = 4;
+    private static final int MAX_LOOKUPS = 16;
+
+    private static final ThreadLocal<CauseLookupCache> CACHE = ThreadLocal.withInitial(CauseLookupCache::new);
+
+    @Nullable private Cause cause;
+    private final int[] kinds = new int[MAX_LOOKUPS];
+    private final Class<?>[] types = new Class<?>[MAX_LOOKUPS];
+    private final Object[] results = new Object[MAX_LOOKUPS];
+    private int size;
+
+    private CauseLookupCache() {
+    }
+
+    public static Optional<?> first(Cause cause, Class<?> type) {
+        return (Optional<?>) CACHE.get().lookup(cause, FIRST, type);
+    }
+
+    public static Optional<?> last(Cause cause, Class<?> type) {
+        return (Optional<?>) CACHE.get().lookup(cause, LAST, type);
+    }
+
+    public static Optional<?> before(Cause cause, Class<?> type) {
+        return (Optional<?>) CACHE.get().lookup(cause, BEFORE, type);
+    }
+
+    public static Optional<?> after(Cause cause, Class<?> type) {
+        return (Optional<?>) CACHE.get().lookup(cause, AFTER, type);
+    }
+
+    public static List<?> allOf(Cause cause, Class<?> type) {
+        return (List<?>) CACHE.get().lookup(cause, ALL_OF, type);
+    }
+
+    /**
+     * Clears the lookups remembered on the current thread.
+     */
+    public static void clear() {
+        final CauseLookupCache cache = CACHE.get();
+        if (cache.cause != null) {
+            cache.reset(null);
+        }
+    }
+
+    private Object lookup(Cause cause, int kind, Class<?> type) {
+        if (this.cause != cause) {
+            this.reset(cause);
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (this.types[i] == type && this.kinds[i] == kind) {
+                return this.results[i];
+            }
+        }
+        final Object result = compute(cause, kind, type);
+        if (this.size < MAX_LOOKUPS) {
+            this.kinds[this.size] = kind;
+            this.types[this.size] = type;
+            this.results[this.size] = result;
+            this.size++;
+        }
+        return result;
+    }
+
+    private void reset(@Nullable Cause cause) {
+        for (int i = 0; i < this.size; i++) {
+            this.types[i] = null;
+            this.results[i] = null;
+        }
+        this.size = 0;
+        this.cause = cause;
+    }
+
+    private static Object compute(Cause cause, int kind, Class<?> type) {
+        switch (kind) {
+            case FIRST:
+                return cause.first(type);
+            case LAST:
+                return cause.last(type);
+            case BEFORE:
+                return cause.before(type);
+            case AFTER:
+                return cause.after(type);
+            default:
+                return cause.allOf(type);
+        }
+    }
+
+}
@@ -33,6 +33,7 @@
 import static org.objectweb.asm.Opcodes.IFEQ;
 import static org.objectweb.asm.Opcodes.IFNE;
 import static org.objectweb.asm.Opcodes.INSTANCEOF;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
 import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
 
 import org.objectweb.asm.Label;
@@ -40,6 +41,7 @@
 import org.objectweb.asm.Type;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.filter.cause.After;
+import org.spongepowered.common.event.filter.CauseLookupCache;
 
 import java.lang.reflect.Parameter;
 
@@ -54,7 +56,8 @@ public AfterCauseFilterSourceDelegate(After anno) {
     @Override
     protected void insertCauseCall(MethodVisitor mv, Parameter param, Class<?> targetType) {
         mv.visitLdcInsn(Type.getType(this.anno.value()));
-        mv.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(Cause.class), "after", "(Ljava/lang/Class;)Ljava/util/Optional;", false);
+        mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(CauseLookupCache.class), "after",
+                "(" + Type.getDescriptor(Cause.class) + "Ljava/lang/Class;)Ljava/util/Optional;", false);
     }
 
     @Override
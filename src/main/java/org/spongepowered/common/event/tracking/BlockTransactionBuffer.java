@@ -0,0 +1,306 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.world.BlockChange;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds the block changes captured during a phase as columns, one entry per
+ * captured {@link SpongeBlockSnapshot}.
+ *
+ * <p>The new state of every change is read once when the buffer is created,
+ * but the final snapshot and the {@link Transaction} of a change are only
+ * created when they are needed. If no {@link ChangeBlockEvent} is thrown,
+ * nothing can invalidate or replace a change, so it is applied straight
+ * from the columns. Transactions must be created before the first change
+ * is applied, since their final snapshots are read from the world, and
+ * before they are handed to listeners that may run on another thread.</p>
+ */
+public final class BlockTransactionBuffer {
+
+    private static final BlockChange[] BLOCK_CHANGES = BlockChange.values();
+
+    private final int size;
+    private final SpongeBlockSnapshot[] originals;
+    private final WorldServer[] worlds;
+    private final IBlockState[] finalStates;
+    private final Transaction<BlockSnapshot>[] transactions;
+    private final boolean[] invalidated;
+    // The indices of the changes of each block change type
+    private final int[][] changes = new int[BLOCK_CHANGES.length][];
+
+    @SuppressWarnings("unchecked")
+    private BlockTransactionBuffer(int size) {
+        this.size = size;
+        this.originals = new SpongeBlockSnapshot[size];
+        this.worlds = new WorldServer[size];
+        this.finalStates = new IBlockState[size];
+        this.transactions = new Transaction[size];
+        this.invalidated = new boolean[size];
+    }
+
+    /**
+     * Creates a buffer for the given captured snapshots, reading the new
+     * state of each position from its world.
+     *
+     * @param snapshots The captured snapshots
+     * @return The buffer
+     */
+    public static BlockTransactionBuffer of(List<BlockSnapshot> snapshots) {
+        final BlockTransactionBuffer buffer = new BlockTransactionBuffer(snapshots.size());
+        for (int i = 0; i < buffer.size; i++) {
+            final SpongeBlockSnapshot snapshot = (SpongeBlockSnapshot) snapshots.get(i);
+            buffer.originals[i] = snapshot;
+            buffer.worlds[i] = buffer.lookupWorld(snapshot, i);
+            buffer.finalStates[i] = buffer.worlds[i].getBlockState(snapshot.getBlockPos());
+        }
+        buffer.indexChanges();
+        return buffer;
+    }
+
+    /**
+     * Creates a buffer for transactions that were already created.
+     *
+     * @param transactions The transactions
+     * @return The buffer
+     */
+    public static BlockTransactionBuffer ofTransactions(List<Transaction<BlockSnapshot>> transactions) {
+        final BlockTransactionBuffer buffer = new BlockTransactionBuffer(transactions.size());
+        for (int i = 0; i < buffer.size; i++) {
+            final Transaction<BlockSnapshot> transaction = transactions.get(i);
+            final SpongeBlockSnapshot snapshot = (SpongeBlockSnapshot) transaction.getOriginal();
+            buffer.originals[i] = snapshot;
+            buffer.worlds[i] = buffer.lookupWorld(snapshot, i);
+            buffer.finalStates[i] = (IBlockState) transaction.getFinal().getState();
+            buffer.transactions[i] = transaction;
+        }
+        buffer.indexChanges();
+        return buffer;
+    }
+
+    private WorldServer lookupWorld(SpongeBlockSnapshot snapshot, int index) {
+        if (index > 0 && this.originals[index - 1].getWorldUniqueId().equals(snapshot.getWorldUniqueId())) {
+            // Captures are nearly always in one world, only look it up when it changes
+            return this.worlds[index - 1];
+        }
+        return (WorldServer) SpongeImpl.getGame().getServer().getWorld(snapshot.getWorldUniqueId())
+                .orElseThrow(() -> new IllegalStateException("Captured a block change in an unloaded world: " + snapshot));
+    }
+
+    private void indexChanges() {
+        final int[] counts = new int[BLOCK_CHANGES.length];
+        for (int i = 0; i < this.size; i++) {
+            counts[this.originals[i].blockChange.ordinal()]++;
+        }
+        for (int change = 0; change < counts.length; change++) {
+            this.changes[change] = new int[counts[change]];
+            counts[change] = 0;
+        }
+        for (int i = 0; i < this.size; i++) {
+            final int change = this.originals[i].blockChange.ordinal();
+            this.changes[change][counts[change]++] = i;
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public SpongeBlockSnapshot getOriginal(int index) {
+        return this.originals[index];
+    }
+
+    public BlockPos getPos(int index) {
+        return this.originals[index].getBlockPos();
+    }
+
+    public WorldServer getWorld(int index) {
+        return this.worlds[index];
+    }
+
+    /**
+     * Gets the state the block is changed to, which is the state of the
+     * custom replacement if a listener set one.
+     *
+     * @param index The index of the change
+     * @return The final state
+     */
+    public IBlockState getFinalState(int index) {
+        final Transaction<BlockSnapshot> transaction = this.transactions[index];
+        return transaction == null ? this.finalStates[index] : (IBlockState) transaction.getFinal().getState();
+    }
+
+    /**
+     * Creates the transactions of all changes that don't have one yet.
+     */
+    public void createTransactions() {
+        for (int i = 0; i < this.size; i++) {
+            this.getTransaction(i);
+        }
+    }
+
+    /**
+     * Gets the transaction of the given change, creating it and its final
+     * snapshot if nothing asked for it yet.
+     *
+     * @param index The index of the change
+     * @return The transaction
+     */
+    public Transaction<BlockSnapshot> getTransaction(int index) {
+        Transaction<BlockSnapshot> transaction = this.transactions[index];
+        if (transaction == null) {
+            final WorldServer world = this.worlds[index];
+            final BlockPos pos = this.originals[index].getBlockPos();
+            final IBlockState state = this.finalStates[index];
+            final SpongeBlockSnapshot snapshot = ((IMixinWorldServer) world)
+                    .createSpongeBlockSnapshot(state, state.getActualState(world, pos), pos, 0);
+            transaction = new Transaction<>(this.originals[index], snapshot);
+            if (this.invalidated[index]) {
+                transaction.setValid(false);
+            }
+            this.transactions[index] = transaction;
+        }
+        return transaction;
+    }
+
+    /**
+     * Gets the transaction of the given change if it was created already.
+     *
+     * @param index The index of the change
+     * @return The transaction, or null
+     */
+    @Nullable
+    public Transaction<BlockSnapshot> getCreatedTransaction(int index) {
+        return this.transactions[index];
+    }
+
+    public boolean isValid(int index) {
+        final Transaction<BlockSnapshot> transaction = this.transactions[index];
+        return !this.invalidated[index] && (transaction == null || transaction.isValid());
+    }
+
+    /**
+     * Marks all changes of the given type as invalid, or all changes if the
+     * type is null, without creating their transactions.
+     *
+     * @param blockChange The block change type, or null
+     */
+    public void invalidate(@Nullable BlockChange blockChange) {
+        if (blockChange == null) {
+            for (int i = 0; i < this.size; i++) {
+                this.invalidate(i);
+            }
+        } else {
+            for (int index : this.changes[blockChange.ordinal()]) {
+                this.invalidate(index);
+            }
+        }
+    }
+
+    private void invalidate(int index) {
+        this.invalidated[index] = true;
+        final Transaction<BlockSnapshot> transaction = this.transactions[index];
+        if (transaction != null) {
+            transaction.setValid(false);
+        }
+    }
+
+    /**
+     * Gets a view of the transactions of all changes, in the order they were
+     * captured. Transactions are created as they are accessed.
+     *
+     * @return The transactions
+     */
+    public List<Transaction<BlockSnapshot>> getTransactions() {
+        return new TransactionList(null);
+    }
+
+    /**
+     * Gets a view of the transactions of all changes of the given type.
+     *
+     * @param blockChange The block change type
+     * @return The transactions
+     */
+    public List<Transaction<BlockSnapshot>> getTransactions(BlockChange blockChange) {
+        return new TransactionList(this.changes[blockChange.ordinal()]);
+    }
+
+    /**
+     * Creates the transaction lists in the layout used to throw the block
+     * events, one list per {@link BlockChange} followed by all changes at
+     * {@link TrackingUtil#MULTI_CHANGE_INDEX}. All transactions are created
+     * up front, as the lists are passed to the events.
+     *
+     * @return The transaction lists
+     */
+    @SuppressWarnings("unchecked")
+    public List<Transaction<BlockSnapshot>>[] createTransactionArrays() {
+        this.createTransactions();
+        final List<Transaction<BlockSnapshot>>[] transactionArrays = new List[TrackingUtil.EVENT_COUNT];
+        for (BlockChange blockChange : BLOCK_CHANGES) {
+            transactionArrays[blockChange.ordinal()] = this.getTransactions(blockChange);
+        }
+        transactionArrays[TrackingUtil.MULTI_CHANGE_INDEX] = this.getTransactions();
+        return transactionArrays;
+    }
+
+    private final class TransactionList extends AbstractList<Transaction<BlockSnapshot>> implements RandomAccess {
+
+        @Nullable private final int[] indices;
+
+        TransactionList(@Nullable int[] indices) {
+            this.indices = indices;
+        }
+
+        @Override
+        public Transaction<BlockSnapshot> get(int index) {
+            if (this.indices == null) {
+                return BlockTransactionBuffer.this.getTransaction(index);
+            }
+            return BlockTransactionBuffer.this.getTransaction(this.indices[index]);
+        }
+
+        @Override
+        public int size() {
+            return this.indices == null ? BlockTransactionBuffer.this.size : this.indices.length;
+        }
+    }
+
+}
@@ -122,6 +122,15 @@ public final void removeAllIfNotEmpty(K key) {
         this.captured.removeAll(key);
     }
 
+    /**
+     * Clears the captured objects, keeping the multimap for reuse.
+     */
+    final void clear() {
+        if (this.captured != null) {
+            this.captured.clear();
+        }
+    }
+
     /**
      * If not empty, returns the captured {@link ListMultimap}.
      * Otherwise, this will return the passed list.
@@ -70,6 +70,15 @@ public final void acceptAndClearIfNotEmpty(Consumer<List<T>> consumer) {
         }
     }
 
+    /**
+     * Clears the captured objects, keeping the list for reuse.
+     */
+    final void clear() {
+        if (this.captured != null) {
+            this.captured.clear();
+        }
+    }
+
     /**
      * If not empty, returns the captured {@link List}.
      * Otherwise, this will return the passed list.
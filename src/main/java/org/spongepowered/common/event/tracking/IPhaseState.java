@@ -36,6 +36,7 @@
 import org.spongepowered.api.event.entity.SpawnEntityEvent;
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.tracking.phase.TrackingPhase;
 import org.spongepowered.common.event.tracking.phase.entity.EntityPhase;
 import org.spongepowered.common.event.tracking.phase.packet.PacketPhase;
@@ -137,6 +138,10 @@ default boolean spawnEntityOrCapture(C context, org.spongepowered.api.entity.Ent
         if (user != null) {
             entity.setCreator(user.getUniqueId());
         }
+        if (!ShouldFire.SPAWN_ENTITY_EVENT) {
+            ((IMixinWorldServer) entity.getWorld()).forceSpawnEntity(entity);
+            return true;
+        }
         final ArrayList<org.spongepowered.api.entity.Entity> entities = new ArrayList<>(1);
         entities.add(entity);
         final SpawnEntityEvent event = SpongeEventFactory.createSpawnEntityEvent(Sponge.getCauseStackManager().getCurrentCause(),
@@ -159,6 +164,17 @@ default void handleBlockChangeWithUser(@Nullable BlockChange blockChange, Transa
 
     }
 
+    /**
+     * Gets whether this state overrides {@link #handleBlockChangeWithUser}.
+     * Block changes that no event listener looked at are applied without
+     * creating their {@link Transaction}s, unless this returns {@code true}.
+     *
+     * @return True if block changes are handled with their transactions
+     */
+    default boolean handlesBlockChangeWithUser() {
+        return false;
+    }
+
     default boolean tracksBlockRestores() {
         return false;
     }
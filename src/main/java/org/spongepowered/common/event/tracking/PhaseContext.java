@@ -76,6 +76,8 @@
     @Nullable protected User owner;
     @Nullable protected User notifier;
     private boolean processImmediately;
+    // Set while the context is acquired from a pool
+    @Nullable PhaseContextPool<P> pool;
 
     private Object source;
 
@@ -394,9 +396,58 @@ public P markEmpty() {
         return (P) this;
     }
 
+    /**
+     * Resets this context so it can be reused for the same state, keeping the
+     * capture suppliers and their buffers. Contexts with additional state
+     * have to reset it as well.
+     */
+    protected void reset() {
+        this.isCompleted = false;
+        this.processImmediately = false;
+        this.owner = null;
+        this.notifier = null;
+        this.source = null;
+        if (this.blocksSupplier != null) {
+            this.blocksSupplier.clear();
+        }
+        if (this.blockItemDropsSupplier != null) {
+            this.blockItemDropsSupplier.clear();
+        }
+        if (this.blockItemEntityDropsSupplier != null) {
+            this.blockItemEntityDropsSupplier.clear();
+        }
+        if (this.capturedItemsSupplier != null) {
+            this.capturedItemsSupplier.clear();
+        }
+        if (this.capturedEntitiesSupplier != null) {
+            this.capturedEntitiesSupplier.clear();
+        }
+        if (this.capturedItemStackSupplier != null) {
+            this.capturedItemStackSupplier.clear();
+        }
+        if (this.entityItemDropsSupplier != null) {
+            this.entityItemDropsSupplier.clear();
+        }
+        if (this.entityItemEntityDropsSupplier != null) {
+            this.entityItemEntityDropsSupplier.clear();
+        }
+        if (this.blockEntitySpawnSupplier != null) {
+            this.blockEntitySpawnSupplier.clear();
+        }
+        if (this.captureBlockPos != null) {
+            this.captureBlockPos.setPos(null);
+            this.captureBlockPos.setWorld((IMixinWorldServer) null);
+        }
+    }
+
     @Override
     public void close() { // Should never throw an exception
         PhaseTracker.getInstance().completePhase(this.state);
+        final PhaseContextPool<P> pool = this.pool;
+        if (pool != null) {
+            // Cleared on release, so closing twice cannot hand out the context twice
+            pool.release((P) this);
+        }
     }
 
 
@@ -0,0 +1,89 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import org.spongepowered.api.Sponge;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * Reuses the {@link PhaseContext}s of a frequently entered
+ * {@link IPhaseState} on the main thread.
+ *
+ * <p>A context is acquired when the phase is entered and returned to the
+ * pool once it is closed, after the phase completed. Returned contexts are
+ * {@link PhaseContext#reset() reset}, but keep their capture suppliers and
+ * the buffers those already allocated, so a state has to set up its
+ * captures in the factory instead of after acquiring a context.</p>
+ *
+ * <p>Contexts nest, an entity ticking another entity enters the same state
+ * again, so the pool keeps a few free contexts instead of a single one.</p>
+ *
+ * @param <C> The type of context
+ */
+public final class PhaseContextPool<C extends PhaseContext<C>> {
+
+    private static final int MAX_FREE = 16;
+
+    private final Supplier<C> factory;
+    private final ArrayDeque<C> free = new ArrayDeque<>();
+
+    /**
+     * Creates a pool for contexts created by the given factory.
+     *
+     * @param factory The factory, setting up the captures of the context
+     */
+    public PhaseContextPool(Supplier<C> factory) {
+        this.factory = factory;
+    }
+
+    public C acquire() {
+        if (!Sponge.getServer().isMainThread() || !SpongeImpl.getGlobalConfig().getConfig().getOptimizations().usePhaseContextPooling()) {
+            return this.factory.get();
+        }
+        C context = this.free.poll();
+        if (context == null) {
+            context = this.factory.get();
+        }
+        context.pool = this;
+        return context;
+    }
+
+    /**
+     * Returns the given context to the pool after it was closed.
+     *
+     * @param context The context
+     */
+    void release(C context) {
+        context.pool = null;
+        context.reset();
+        if (this.free.size() < MAX_FREE) {
+            this.free.push(context);
+        }
+    }
+
+}
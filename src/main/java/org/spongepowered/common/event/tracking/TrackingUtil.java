@@ -31,7 +31,7 @@
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockEventData;
 import net.minecraft.block.BlockRedstoneLight;
@@ -70,6 +70,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.event.EventRecycler;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.tracking.phase.block.BlockPhase;
 import org.spongepowered.common.event.tracking.phase.general.GeneralPhase;
@@ -122,6 +123,10 @@ public final class TrackingUtil {
                     }
             ;
     public static final int EVENT_COUNT = 5;
+    private static final EventRecycler<TickBlockEvent.Scheduled, BlockSnapshot> SCHEDULED_TICK_EVENTS =
+            new EventRecycler<>("targetBlock", SpongeEventFactory::createTickBlockEventScheduled);
+    private static final EventRecycler<TickBlockEvent.Random, BlockSnapshot> RANDOM_TICK_EVENTS =
+            new EventRecycler<>("targetBlock", SpongeEventFactory::createTickBlockEventRandom);
     public static final Function<BlockSnapshot, Transaction<BlockSnapshot>> TRANSACTION_CREATION = (blockSnapshot) -> {
         final Location<World> originalLocation = blockSnapshot.getLocation().get();
         final WorldServer worldServer = (WorldServer) originalLocation.getExtent();
@@ -241,9 +246,11 @@ public static void updateTickBlock(IMixinWorldServer mixinWorld, Block block, Bl
             Sponge.getCauseStackManager().pushCause(minecraftWorld);
             if (ShouldFire.TICK_BLOCK_EVENT) {
                 BlockSnapshot snapshot = mixinWorld.createSpongeBlockSnapshot(state, state, pos, 0);
-                final TickBlockEvent event = SpongeEventFactory.createTickBlockEventScheduled(Sponge.getCauseStackManager().getCurrentCause(), snapshot);
+                final TickBlockEvent.Scheduled event = SCHEDULED_TICK_EVENTS.acquire(Sponge.getCauseStackManager().getCurrentCause(), snapshot);
                 SpongeImpl.postEvent(event);
-                if(event.isCancelled()) {
+                final boolean cancelled = event.isCancelled();
+                SCHEDULED_TICK_EVENTS.release(event);
+                if (cancelled) {
                     return;
                 }
             }
@@ -281,9 +288,11 @@ public static void randomTickBlock(PhaseTracker phaseTracker, IMixinWorldServer
             Sponge.getCauseStackManager().pushCause(minecraftWorld);
             if (ShouldFire.TICK_BLOCK_EVENT) {
                 final BlockSnapshot currentTickBlock = mixinWorld.createSpongeBlockSnapshot(state, state, pos, 0);
-                final TickBlockEvent event = SpongeEventFactory.createTickBlockEventRandom(Sponge.getCauseStackManager().getCurrentCause(), currentTickBlock);
+                final TickBlockEvent.Random event = RANDOM_TICK_EVENTS.acquire(Sponge.getCauseStackManager().getCurrentCause(), currentTickBlock);
                 SpongeImpl.postEvent(event);
-                if(event.isCancelled()) {
+                final boolean cancelled = event.isCancelled();
+                RANDOM_TICK_EVENTS.release(event);
+                if (cancelled) {
                     return;
                 }
             }
@@ -473,22 +482,8 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
         if (snapshots.isEmpty()) {
             return false;
         }
-        ImmutableList<Transaction<BlockSnapshot>>[] transactionArrays = new ImmutableList[EVENT_COUNT];
-        ImmutableList.Builder<Transaction<BlockSnapshot>>[] transactionBuilders = new ImmutableList.Builder[EVENT_COUNT];
-        for (int i = 0; i < EVENT_COUNT; i++) {
-            transactionBuilders[i] = new ImmutableList.Builder<>();
-        }
-        final List<ChangeBlockEvent> blockEvents = new ArrayList<>();
-
-        for (BlockSnapshot snapshot : snapshots) {
-            // This processes each snapshot to assign them to the correct event in the next area, with the
-            // correct builder array entry.
-            TRANSACTION_PROCESSOR.apply(transactionBuilders).accept(TRANSACTION_CREATION.apply(snapshot));
-        }
-        for (int i = 0; i < EVENT_COUNT; i++) {
-            // Build each event array
-            transactionArrays[i] = transactionBuilders[i].build();
-        }
+        // Transactions are only created if events are thrown or the block additions need them
+        final BlockTransactionBuffer buffer = BlockTransactionBuffer.of(snapshots);
 
         // Clear captured snapshots after processing them
         context.getCapturedBlocksOrEmptyList().clear();
@@ -509,6 +504,12 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
                 // TODO - this should be a thing to associate additional objects in the cause, or context, but for now it's just a simple
                 // try catch to avoid bombing on performing block changes.
             }
+            if (!ShouldFire.CHANGE_BLOCK_EVENT) {
+                // Nothing can cancel or invalidate the transactions, so skip creating the events
+                return performBlockAdditions(buffer, state, context, true);
+            }
+            final List<Transaction<BlockSnapshot>>[] transactionArrays = buffer.createTransactionArrays();
+            final List<ChangeBlockEvent> blockEvents = new ArrayList<>();
             // Creates the block events accordingly to the transaction arrays
             iterateChangeBlockEvents(transactionArrays, blockEvents, mainEvents); // Needs to throw events
             // We create the post event and of course post it in the method, regardless whether any transactions are invalidated or not
@@ -517,71 +518,74 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
             if (postEvent == null) { // Means that we have had no actual block changes apparently?
                 return false;
             }
-    
-            final List<Transaction<BlockSnapshot>> invalid = new ArrayList<>();
-    
-            boolean noCancelledTransactions = true;
-    
-            // Iterate through the block events to mark any transactions as invalid to accumilate after (since the post event contains all
-            // transactions of the preceeding block events)
-            for (ChangeBlockEvent blockEvent : blockEvents) { // Need to only check if the event is cancelled, If it is, restore
-                if (blockEvent.isCancelled()) {
-                    noCancelledTransactions = false;
-                    // Don't restore the transactions just yet, since we're just marking them as invalid for now
-                    for (Transaction<BlockSnapshot> transaction : Lists.reverse(blockEvent.getTransactions())) {
-                        transaction.setValid(false);
-                    }
-                }
-            }
-    
-            // Finally check the post event
-            if (postEvent.isCancelled()) {
-                // Of course, if post is cancelled, just mark all transactions as invalid.
-                noCancelledTransactions = false;
-                for (Transaction<BlockSnapshot> transaction : postEvent.getTransactions()) {
-                    transaction.setValid(false);
-                }
-            }
-    
-            // Now we can gather the invalid transactions that either were marked as invalid from an event listener - OR - cancelled.
-            // Because after, we will restore all the invalid transactions in reverse order.
-            for (Transaction<BlockSnapshot> transaction : postEvent.getTransactions()) {
-                if (!transaction.isValid()) {
-                    invalid.add(transaction);
-                    // Cancel any block drops performed, avoids any item drops, regardless
-                    final Location<World> location = transaction.getOriginal().getLocation().orElse(null);
-                    if (location != null) {
-                        final BlockPos pos = ((IMixinLocation) (Object) location).getBlockPos();
-                        context.getBlockItemDropSupplier().removeAllIfNotEmpty(pos);
-                        context.getBlockEntitySpawnSupplier().removeAllIfNotEmpty(pos);
-                        context.getBlockEntitySpawnSupplier().removeAllIfNotEmpty(pos);
-                    }
-                }
-            }
-    
-            if (!invalid.isEmpty()) {
-                // We need to set this value and return it to signify that some transactions were cancelled
+
+            final boolean noCancelledTransactions = restoreInvalidTransactions(buffer, mainEvents, postEvent.isCancelled(), state, context);
+            return performBlockAdditions(buffer, state, context, noCancelledTransactions);
+        }
+    }
+
+    /**
+     * Restores the changes that were invalidated by listeners or whose event
+     * was cancelled, in the reverse order of which they were captured, and
+     * drops any captured drops and spawns for them.
+     *
+     * @param buffer The block changes
+     * @param mainEvents The block events per {@link BlockChange}
+     * @param postCancelled Whether the post event was cancelled
+     * @param state The phase state
+     * @param context The phase context
+     * @return True if no change was invalidated
+     */
+    public static boolean restoreInvalidTransactions(BlockTransactionBuffer buffer, ChangeBlockEvent[] mainEvents, boolean postCancelled,
+            IPhaseState<?> state, PhaseContext<?> context) {
+        boolean noCancelledTransactions = true;
+        // Mark the transactions of cancelled events as invalid to accumulate after (since the post event contains all
+        // transactions of the preceeding block events)
+        for (BlockChange blockChange : BlockChange.values()) {
+            final ChangeBlockEvent blockEvent = mainEvents[blockChange.ordinal()];
+            if (blockEvent != null && blockEvent.isCancelled()) {
                 noCancelledTransactions = false;
-                // NOW we restore the invalid transactions (remember invalid transactions are from either plugins marking them as invalid
-                // or the events were cancelled), again in reverse order of which they were received.
-                for (Transaction<BlockSnapshot> transaction : Lists.reverse(invalid)) {
-                    transaction.getOriginal().restore(true, BlockChangeFlag.NONE);
-                    if (state.tracksBlockSpecificDrops()) {
-                        // Cancel any block drops or harvests for the block change.
-                        // This prevents unnecessary spawns.
-                        final Location<World> location = transaction.getOriginal().getLocation().orElse(null);
-                        if (location != null) {
-                            final BlockPos pos = ((IMixinLocation) (Object) location).getBlockPos();
-                            context.getBlockDropSupplier().removeAllIfNotEmpty(pos);
-                        }
-                    }
+                buffer.invalidate(blockChange);
+            }
+        }
+        if (postCancelled) {
+            // Of course, if post is cancelled, just mark all transactions as invalid.
+            noCancelledTransactions = false;
+            buffer.invalidate(null);
+        }
+
+        // Now we can gather the invalid transactions that either were marked as invalid from an event listener - OR - cancelled.
+        // Because after, we will restore all the invalid transactions in reverse order.
+        final IntArrayList invalid = new IntArrayList();
+        for (int i = 0; i < buffer.size(); i++) {
+            if (!buffer.isValid(i)) {
+                invalid.add(i);
+                // Cancel any block drops performed, avoids any item drops, regardless
+                final BlockPos pos = buffer.getPos(i);
+                context.getBlockItemDropSupplier().removeAllIfNotEmpty(pos);
+                context.getBlockEntitySpawnSupplier().removeAllIfNotEmpty(pos);
+            }
+        }
+
+        if (!invalid.isEmpty()) {
+            // We need to set this value and return it to signify that some transactions were cancelled
+            noCancelledTransactions = false;
+            // NOW we restore the invalid transactions (remember invalid transactions are from either plugins marking them as invalid
+            // or the events were cancelled), again in reverse order of which they were received.
+            for (int i = invalid.size() - 1; i >= 0; i--) {
+                final int index = invalid.getInt(i);
+                buffer.getOriginal(index).restore(true, BlockChangeFlag.NONE);
+                if (state.tracksBlockSpecificDrops()) {
+                    // Cancel any block drops or harvests for the block change.
+                    // This prevents unnecessary spawns.
+                    context.getBlockDropSupplier().removeAllIfNotEmpty(buffer.getPos(index));
                 }
             }
-            return performBlockAdditions(postEvent.getTransactions(), state, context, noCancelledTransactions);
         }
+        return noCancelledTransactions;
     }
 
-    public static void iterateChangeBlockEvents(ImmutableList<Transaction<BlockSnapshot>>[] transactionArrays, List<ChangeBlockEvent> blockEvents,
+    public static void iterateChangeBlockEvents(List<Transaction<BlockSnapshot>>[] transactionArrays, List<ChangeBlockEvent> blockEvents,
             ChangeBlockEvent[] mainEvents) {
         for (BlockChange blockChange : BlockChange.values()) {
             if (blockChange == BlockChange.DECAY) { // Decay takes place after.
@@ -606,55 +610,79 @@ public static void iterateChangeBlockEvents(ImmutableList<Transaction<BlockSnaps
         }
     }
 
-    @SuppressWarnings("rawtypes")
     public static boolean performBlockAdditions(List<Transaction<BlockSnapshot>> transactions, IPhaseState<?> phaseState,
                                                 PhaseContext<?> phaseContext, boolean noCancelledTransactions) {
+        return performBlockAdditions(BlockTransactionBuffer.ofTransactions(transactions), phaseState, phaseContext, noCancelledTransactions);
+    }
+
+    private static boolean hasCapturesAt(CapturedMultiMapSupplier<BlockPos, ?> supplier, BlockPos pos) {
+        return !supplier.isEmpty() && supplier.get().containsKey(pos);
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static boolean performBlockAdditions(BlockTransactionBuffer buffer, IPhaseState<?> phaseState,
+                                                PhaseContext<?> phaseContext, boolean noCancelledTransactions) {
         // We have to use a proxy so that our pending changes are notified such that any accessors from block
         // classes do not fail on getting the incorrect block state from the IBlockAccess
-        final SpongeProxyBlockAccess proxyBlockAccess = new SpongeProxyBlockAccess(transactions);
+        final SpongeProxyBlockAccess proxyBlockAccess = new SpongeProxyBlockAccess(buffer);
         final CapturedMultiMapSupplier<BlockPos, ItemDropData> capturedBlockDrops = phaseContext.getBlockDropSupplier();
         final CapturedMultiMapSupplier<BlockPos, EntityItem> capturedBlockItemEntityDrops = phaseContext.getBlockItemDropSupplier();
         final CapturedMultiMapSupplier<BlockPos, net.minecraft.entity.Entity> capturedBlockEntitySpawns = phaseContext.getBlockEntitySpawnSupplier();
-        for (Transaction<BlockSnapshot> transaction : transactions) {
-            if (!transaction.isValid()) {
+        final boolean handlesBlockChanges = phaseState.handlesBlockChangeWithUser();
+        // Create the transactions used below before the first change is applied,
+        // their final snapshots must not include later changes of this batch
+        for (int index = 0; index < buffer.size(); index++) {
+            if (buffer.isValid(index) && (handlesBlockChanges
+                    || SpongeHooks.isBlockActionLogged(buffer.getWorld(index), buffer.getOriginal(index).blockChange)
+                    || hasCapturesAt(capturedBlockDrops, buffer.getPos(index))
+                    || hasCapturesAt(capturedBlockItemEntityDrops, buffer.getPos(index))
+                    || hasCapturesAt(capturedBlockEntitySpawns, buffer.getPos(index)))) {
+                buffer.getTransaction(index);
+            }
+        }
+        for (int index = 0; index < buffer.size(); index++) {
+            if (!buffer.isValid(index)) {
                 // Rememver that this value needs to be set to false to return because of the fact that
                 // a transaction was marked as invalid or cancelled. This is used primarily for
                 // things like portal creation, and if false, removes the portal from the cache
                 noCancelledTransactions = false;
+                proxyBlockAccess.skip();
                 continue; // Don't use invalidated block transactions during notifications, these only need to be restored
             }
-            // Handle custom replacements
-            if (transaction.getCustom().isPresent()) {
-                transaction.getFinal().restore(true, BlockChangeFlag.NONE);
+            // Handle custom replacements, only listeners can set them so the transaction exists already
+            final Transaction<BlockSnapshot> created = buffer.getCreatedTransaction(index);
+            if (created != null && created.getCustom().isPresent()) {
+                created.getFinal().restore(true, BlockChangeFlag.NONE);
             }
 
-            final SpongeBlockSnapshot oldBlockSnapshot = (SpongeBlockSnapshot) transaction.getOriginal();
-            final SpongeBlockSnapshot newBlockSnapshot = (SpongeBlockSnapshot) transaction.getFinal();
-
-            final Location<World> worldLocation = oldBlockSnapshot.getLocation().get();
-            final IMixinWorldServer mixinWorldServer = (IMixinWorldServer) worldLocation.getExtent();
+            final SpongeBlockSnapshot oldBlockSnapshot = buffer.getOriginal(index);
+            final WorldServer world = buffer.getWorld(index);
+            final IMixinWorldServer mixinWorldServer = (IMixinWorldServer) world;
             // Handle item drops captured
-            final BlockPos pos = ((IMixinLocation) (Object) oldBlockSnapshot.getLocation().get()).getBlockPos();
+            final BlockPos pos = oldBlockSnapshot.getBlockPos();
+            final int transactionIndex = index;
             // This is for pre-merged items
-            capturedBlockDrops.acceptAndRemoveIfPresent(pos, items -> spawnItemDataForBlockDrops(items, newBlockSnapshot,
-                phaseContext, phaseState));
+            capturedBlockDrops.acceptAndRemoveIfPresent(pos, items -> spawnItemDataForBlockDrops(items,
+                (SpongeBlockSnapshot) buffer.getTransaction(transactionIndex).getFinal(), phaseContext, phaseState));
             // And this is for un-pre-merged items, these will be EntityItems, not ItemDropDatas.
-            capturedBlockItemEntityDrops.acceptAndRemoveIfPresent(pos, items -> spawnItemEntitiesForBlockDrops(items, newBlockSnapshot,
-                    phaseContext, phaseState));
+            capturedBlockItemEntityDrops.acceptAndRemoveIfPresent(pos, items -> spawnItemEntitiesForBlockDrops(items,
+                (SpongeBlockSnapshot) buffer.getTransaction(transactionIndex).getFinal(), phaseContext, phaseState));
             // This is for entities actually spawned
-            capturedBlockEntitySpawns.acceptAndRemoveIfPresent(pos, items -> spawnEntitiesForBlock(items, newBlockSnapshot,
-                phaseContext, phaseState));
+            capturedBlockEntitySpawns.acceptAndRemoveIfPresent(pos, items -> spawnEntitiesForBlock(items,
+                (SpongeBlockSnapshot) buffer.getTransaction(transactionIndex).getFinal(), phaseContext, phaseState));
 
-            SpongeHooks.logBlockAction(mixinWorldServer.asMinecraftWorld(), oldBlockSnapshot.blockChange, transaction);
+            if (SpongeHooks.isBlockActionLogged(world, oldBlockSnapshot.blockChange)) {
+                SpongeHooks.logBlockAction(world, oldBlockSnapshot.blockChange, buffer.getTransaction(index));
+            }
             final BlockChangeFlag changeFlag = oldBlockSnapshot.getChangeFlag();
             final IBlockState originalState = (IBlockState) oldBlockSnapshot.getState();
-            final IBlockState newState = (IBlockState) newBlockSnapshot.getState();
+            final IBlockState newState = buffer.getFinalState(index);
             // We call onBlockAdded here for both TE blocks (BlockContainer's) and other blocks.
             // MixinChunk#setBlockState will only call onBlockAdded for BlockContainers when it's passed a null newBlockSnapshot,
             // which only happens when capturing is not being done.
             final PhaseTracker phaseTracker = PhaseTracker.getInstance();
             if (changeFlag.performBlockPhysics() && originalState.getBlock() != newState.getBlock()) {
-                newState.getBlock().onBlockAdded(mixinWorldServer.asMinecraftWorld(), pos, newState);
+                newState.getBlock().onBlockAdded(world, pos, newState);
                 final PhaseData peek = phaseTracker.getCurrentPhaseData();
                 if (peek.state == GeneralPhase.Post.UNWINDING) {
                     ((IPhaseState) peek.state).unwind(peek.context);
@@ -662,17 +690,19 @@ public static boolean performBlockAdditions(List<Transaction<BlockSnapshot>> tra
             }
 
             proxyBlockAccess.proceed();
-            ((IPhaseState) phaseState).handleBlockChangeWithUser(oldBlockSnapshot.blockChange, transaction, phaseContext);
+            if (handlesBlockChanges) {
+                ((IPhaseState) phaseState).handleBlockChangeWithUser(oldBlockSnapshot.blockChange, buffer.getTransaction(index), phaseContext);
+            }
 
             final int minecraftChangeFlag = oldBlockSnapshot.getUpdateFlag();
             if (((minecraftChangeFlag & 2) != 0)) { // Always try to notify clients of the change.
-                mixinWorldServer.asMinecraftWorld().notifyBlockUpdate(pos, originalState, newState, minecraftChangeFlag);
+                world.notifyBlockUpdate(pos, originalState, newState, minecraftChangeFlag);
             }
 
             if (changeFlag.updateNeighbors()) { // Notify neighbors only if the change flag allowed it.
                 mixinWorldServer.spongeNotifyNeighborsPostBlockChange(pos, originalState, newState, oldBlockSnapshot.getUpdateFlag());
             } else if ((minecraftChangeFlag & 16) == 0) {
-                mixinWorldServer.asMinecraftWorld().updateObservingBlocksAt(pos, newState.getBlock());
+                world.updateObservingBlocksAt(pos, newState.getBlock());
             }
 
             final PhaseData peek = phaseTracker.getCurrentPhaseData();
@@ -770,13 +800,22 @@ public static void spawnItemDataForBlockDrops(Collection<ItemDropData> itemStack
 
     public static void spawnEntitiesForBlock(Collection<net.minecraft.entity.Entity> entities, SpongeBlockSnapshot newBlockSnapshot,
                                              PhaseContext<?> phaseContext, IPhaseState<?> phaseState) {
+        final Optional<User> owner = phaseContext.getOwner();
+        final Optional<User> notifier = phaseContext.getNotifier();
+        final User entityCreator = notifier.orElseGet(() -> owner.orElse(null));
+        if (!ShouldFire.SPAWN_ENTITY_EVENT) {
+            for (net.minecraft.entity.Entity entity : entities) {
+                if (entityCreator != null) {
+                    EntityUtil.toMixin(entity).setCreator(entityCreator.getUniqueId());
+                }
+                EntityUtil.getMixinWorld(entity).forceSpawnEntity(EntityUtil.fromNative(entity));
+            }
+            return;
+        }
         // Now we can spawn the entity items appropriately
         final List<Entity> entitiesSpawned = entities.stream()
             .map(EntityUtil::fromNative)
             .collect(Collectors.toList());
-        final Optional<User> owner = phaseContext.getOwner();
-        final Optional<User> notifier = phaseContext.getNotifier();
-        final User entityCreator = notifier.orElseGet(() -> owner.orElse(null));
         final SpawnEntityEvent destruct = SpongeEventFactory.createSpawnEntityEvent(Sponge.getCauseStackManager().getCurrentCause(), entitiesSpawned);
         SpongeImpl.postEvent(destruct);
         if (!destruct.isCancelled()) {
@@ -788,7 +827,7 @@ public static void spawnEntitiesForBlock(Collection<net.minecraft.entity.Entity>
             }
         }
     }
-    public static ChangeBlockEvent.Post throwMultiEventsAndCreatePost(ImmutableList<Transaction<BlockSnapshot>>[] transactionArrays,
+    public static ChangeBlockEvent.Post throwMultiEventsAndCreatePost(List<Transaction<BlockSnapshot>>[] transactionArrays,
         List<ChangeBlockEvent> blockEvents, ChangeBlockEvent[] mainEvents) {
         if (!blockEvents.isEmpty()) {
             try (StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
@@ -798,7 +837,7 @@ public static ChangeBlockEvent.Post throwMultiEventsAndCreatePost(ImmutableList<
                         Sponge.getCauseStackManager().pushCause(mainEvent);
                     }
                 }
-                final ImmutableList<Transaction<BlockSnapshot>> transactions = transactionArrays[MULTI_CHANGE_INDEX];
+                final List<Transaction<BlockSnapshot>> transactions = transactionArrays[MULTI_CHANGE_INDEX];
                 final ChangeBlockEvent.Post post = SpongeEventFactory.createChangeBlockEventPost(Sponge.getCauseStackManager().getCurrentCause(), transactions);
                 SpongeImpl.postEvent(post);
                 return post;
@@ -812,6 +851,13 @@ public static void splitAndSpawnEntities(List<Entity> entities) {
     }
 
     public static void splitAndSpawnEntities(List<Entity> entities, Consumer<IMixinEntity> mixinEntityConsumer) {
+        if (!ShouldFire.SPAWN_ENTITY_EVENT) {
+            for (Entity entity : entities) {
+                mixinEntityConsumer.accept(EntityUtil.toMixin(entity));
+                ((IMixinWorldServer) entity.getWorld()).forceSpawnEntity(entity);
+            }
+            return;
+        }
 
         if (entities.size() > 1) {
             final HashMultimap<World, Entity> entityListMap = HashMultimap.create();
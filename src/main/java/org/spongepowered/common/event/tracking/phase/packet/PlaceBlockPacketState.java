@@ -83,6 +83,11 @@ public void populateContext(EntityPlayerMP playerMP, Packet<?> packet, BasicPack
 
     }
 
+    @Override
+    public boolean handlesBlockChangeWithUser() {
+        return true;
+    }
+
     @Override
     public void handleBlockChangeWithUser(@Nullable BlockChange blockChange, Transaction<BlockSnapshot> transaction,
         BasicPacketContext context) {
@@ -67,6 +67,11 @@ public void populateContext(EntityPlayerMP playerMP, Packet<?> packet, BasicPack
         context.itemUsed(itemstack);
     }
 
+    @Override
+    public boolean handlesBlockChangeWithUser() {
+        return true;
+    }
+
     @Override
     public void handleBlockChangeWithUser(@Nullable BlockChange blockChange, Transaction<BlockSnapshot> transaction,
         BasicPacketContext context) {
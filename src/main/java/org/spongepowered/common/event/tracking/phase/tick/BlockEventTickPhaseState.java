@@ -116,6 +116,11 @@ public boolean spawnEntityOrCapture(BlockEventTickContext context, Entity entity
         return false;
     }
 
+    @Override
+    public boolean handlesBlockChangeWithUser() {
+        return true;
+    }
+
     @Override
     public void handleBlockChangeWithUser(@Nullable BlockChange blockChange,
         Transaction<BlockSnapshot> snapshotTransaction, BlockEventTickContext context) {
@@ -67,6 +67,11 @@ public void associateNeighborBlockNotifier(PhaseContext<?> context, @Nullable Bl
         }
     }
 
+    @Override
+    public boolean handlesBlockChangeWithUser() {
+        return true;
+    }
+
     @Override
     public void handleBlockChangeWithUser(@Nullable BlockChange blockChange,
         Transaction<BlockSnapshot> snapshotTransaction, T context) {
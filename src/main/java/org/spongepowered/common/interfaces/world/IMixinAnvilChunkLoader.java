@@ -35,4 +35,11 @@ public interface IMixinAnvilChunkLoader {
 
     Path getWorldDir();
 
+    /**
+     * Gets the amount of chunks that are queued to be written.
+     *
+     * @return The amount of pending chunk writes
+     */
+    int getPendingChunkWrites();
+
 }
@@ -100,6 +100,14 @@ default boolean forceSpawnEntity(Entity entity) {
 
     ExecutorService getLightingExecutor();
 
+    /**
+     * Gets the amount of light updates queued for the async lighting
+     * threads of this world.
+     *
+     * @return The amount of pending light updates
+     */
+    int getPendingLightUpdates();
+
     WorldTimingsHandler getTimingsHandler();
 
     int getChunkGCTickInterval();
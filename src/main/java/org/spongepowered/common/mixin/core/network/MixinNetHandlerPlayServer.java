@@ -110,6 +110,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.entity.player.tab.SpongeTabList;
+import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.PhaseData;
@@ -462,30 +463,34 @@ private boolean throwMoveEvent(EntityPlayerMP playerMP, CPacketPlayer packetIn)
             // These magic numbers are sad but help prevent excessive lag from this event.
             // eventually it would be nice to not have them
             if (deltaSquared > ((1f / 16) * (1f / 16)) || deltaAngleSquared > (.15f * .15f)) {
-                Transform<World> fromTransform = player.getTransform().setLocation(from).setRotation(fromrot);
-                Transform<World> toTransform = player.getTransform().setLocation(to).setRotation(torot);
-                Sponge.getCauseStackManager().pushCause(player);
-                MoveEntityEvent event = SpongeEventFactory.createMoveEntityEvent(Sponge.getCauseStackManager().getCurrentCause(), fromTransform, toTransform, player);
-                SpongeImpl.postEvent(event);
-                Sponge.getCauseStackManager().popCause();
-                if (event.isCancelled()) {
-                    mixinPlayer.setLocationAndAngles(fromTransform);
-                    this.lastMoveLocation = from;
-                    ((IMixinEntityPlayerMP) this.player).setVelocityOverride(null);
-                    return true;
-                } else if (!event.getToTransform().equals(toTransform)) {
-                    mixinPlayer.setLocationAndAngles(event.getToTransform());
-                    this.lastMoveLocation = event.getToTransform().getLocation();
-                    ((IMixinEntityPlayerMP) this.player).setVelocityOverride(null);
-                    return true;
-                } else if (!from.equals(player.getLocation()) && this.justTeleported) {
+                // Only build the transforms and the event if someone is listening
+                if (ShouldFire.MOVE_ENTITY_EVENT) {
+                    Transform<World> fromTransform = player.getTransform().setLocation(from).setRotation(fromrot);
+                    Transform<World> toTransform = player.getTransform().setLocation(to).setRotation(torot);
+                    Sponge.getCauseStackManager().pushCause(player);
+                    MoveEntityEvent event = SpongeEventFactory.createMoveEntityEvent(Sponge.getCauseStackManager().getCurrentCause(), fromTransform, toTransform, player);
+                    SpongeImpl.postEvent(event);
+                    Sponge.getCauseStackManager().popCause();
+                    if (event.isCancelled()) {
+                        mixinPlayer.setLocationAndAngles(fromTransform);
+                        this.lastMoveLocation = from;
+                        ((IMixinEntityPlayerMP) this.player).setVelocityOverride(null);
+                        return true;
+                    } else if (!event.getToTransform().equals(toTransform)) {
+                        mixinPlayer.setLocationAndAngles(event.getToTransform());
+                        this.lastMoveLocation = event.getToTransform().getLocation();
+                        ((IMixinEntityPlayerMP) this.player).setVelocityOverride(null);
+                        return true;
+                    }
+                }
+                if (!from.equals(player.getLocation()) && this.justTeleported) {
                     this.lastMoveLocation = player.getLocation();
                     // Prevent teleports during the move event from causing odd behaviors
                     this.justTeleported = false;
                     ((IMixinEntityPlayerMP) this.player).setVelocityOverride(null);
                     return true;
                 } else {
-                    this.lastMoveLocation = event.getToTransform().getLocation();
+                    this.lastMoveLocation = to;
                 }
                 this.resendLatestResourcePackRequest();
             }
@@ -515,6 +520,9 @@ private Entity processVehicleMoveEvent(EntityPlayerMP playerMP, CPacketVehicleMo
         }
 
         // Sponge Start - Movement event
+        if (!ShouldFire.MOVE_ENTITY_EVENT) {
+            return ridingEntity;
+        }
         org.spongepowered.api.entity.Entity spongeEntity = (org.spongepowered.api.entity.Entity) ridingEntity;
         Vector3d fromrot = spongeEntity.getRotation();
 
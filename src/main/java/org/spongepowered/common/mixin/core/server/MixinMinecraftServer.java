@@ -94,6 +94,7 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.command.SpongeCommandManager;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
+import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.CauseTrackerCrashHandler;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationContext;
@@ -636,6 +637,7 @@ public void onServerTickStart(CallbackInfo ci) {
 
     @Inject(method = "tick", at = @At(value = "RETURN"))
     public void onServerTickEnd(CallbackInfo ci) {
+        ((SpongeEventManager) Sponge.getEventManager()).getWatchdog().tick();
         int lastAnimTick = SpongeCommonEventFactory.lastAnimationPacketTick;
         int lastPrimaryTick = SpongeCommonEventFactory.lastPrimaryPacketTick;
         int lastSecondaryTick = SpongeCommonEventFactory.lastSecondaryPacketTick;
@@ -106,6 +106,7 @@
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.ChunkPlayerTracker;
 import org.spongepowered.common.world.extent.ExtentViewDownsize;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBiomeVolumeWorker;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBlockVolumeWorker;
@@ -733,14 +734,10 @@ public void addTrackedBlockPosition(Block block, BlockPos pos, User user, Player
 
     }
 
+    @Nullable
     @Override
-    public Map<Integer, PlayerTracker> getTrackedIntPlayerPositions() {
-        return Collections.emptyMap();
-    }
-
-    @Override
-    public Map<Short, PlayerTracker> getTrackedShortPlayerPositions() {
-        return Collections.emptyMap();
+    public ChunkPlayerTracker getPlayerTracker() {
+        return null;
     }
 
     @Override
@@ -773,14 +770,6 @@ public void setBlockCreator(BlockPos pos, @Nullable UUID uuid) {
 
     }
 
-    @Override
-    public void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPositions) {
-    }
-
-    @Override
-    public void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPositions) {
-    }
-
     // Continuing the rest of the implementation
 
     @Override
@@ -26,19 +26,53 @@
 
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BitArray;
 import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.IBlockStatePalette;
 import net.minecraft.world.chunk.NibbleArray;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.interfaces.world.IMixinBlockStateContainer;
 
 import javax.annotation.Nullable;
 
 @Mixin(BlockStateContainer.class)
-public abstract class MixinBlockStateContainer {
+public abstract class MixinBlockStateContainer implements IMixinBlockStateContainer {
+
+    @Shadow protected BitArray storage;
+    @Shadow protected IBlockStatePalette palette;
+    @Shadow private int bits;
 
     @Shadow protected abstract void set(int index, IBlockState state);
+    @Shadow private void setBits(int bitsIn) { }
+
+    @Override
+    public BlockStateContainer copy() {
+        final BlockStateContainer copy = new BlockStateContainer();
+        ((IMixinBlockStateContainer) copy).copyFrom(this.bits, this.palette, this.storage);
+        return copy;
+    }
+
+    @Override
+    public void copyFrom(int bits, IBlockStatePalette palette, BitArray storage) {
+        this.setBits(bits);
+        // The global palette needs no copying. Otherwise, registering the
+        // states in the order of the source palette gives each state the same
+        // id, air included as it is always registered first.
+        if (bits <= 8) {
+            for (int i = 0; i < 1 << bits; i++) {
+                final IBlockState state = palette.getBlockState(i);
+                if (state == null) {
+                    break;
+                }
+                this.palette.idFor(state);
+            }
+        }
+        final long[] data = storage.getBackingLongArray();
+        System.arraycopy(data, 0, this.storage.getBackingLongArray(), 0, data.length);
+    }
 
     /**
      * @author barteks2x
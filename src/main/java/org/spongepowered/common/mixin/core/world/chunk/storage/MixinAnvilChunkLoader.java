@@ -25,17 +25,20 @@
 package org.spongepowered.common.mixin.core.world.chunk.storage;
 
 import com.flowpowered.math.vector.Vector3d;
-import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.item.EntityMinecart;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.MinecraftException;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.chunk.storage.RegionFile;
 import net.minecraft.world.chunk.storage.RegionFileCache;
 import net.minecraft.world.storage.ThreadedFileIOBase;
 import org.apache.logging.log4j.Logger;
@@ -63,24 +66,52 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.data.util.NbtDataUtil;
-import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
 import org.spongepowered.common.util.QueuedChunk;
+import org.spongepowered.common.world.ChunkPlayerTracker;
+import org.spongepowered.common.world.storage.ChunkSaveSnapshot;
+import org.spongepowered.common.world.storage.WorldStorageUtil;
 
+import java.io.DataOutputStream;
 import java.io.File;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
 
 @Mixin(AnvilChunkLoader.class)
 @Implements(@Interface(iface = IMixinAnvilChunkLoader.class, prefix = "loader$"))
 public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
 
     private ConcurrentLinkedQueue<QueuedChunk> queue = new ConcurrentLinkedQueue<>();
+    // Chunks that failed to write and wait to be retried, guarded by the io lock
+    private final List<QueuedChunk> retries = new ArrayList<>();
     private final Object lock = new Object();
+    private final Object ioLock = new Object();
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final AtomicBoolean ioScheduled = new AtomicBoolean();
+    @Nullable private volatile ExecutorService ioExecutor;
+    // Chunks captured to be encoded on the io thread, guarded by the lock
+    private final Map<ChunkPos, ChunkSaveSnapshot> pendingSnapshots = new HashMap<>();
 
+    // Returned to isChunkGeneratedAt for chunks that are pending, it is never read
+    private static final NBTTagCompound PENDING_CHUNK_MARKER = new NBTTagCompound();
+    // The delay before retrying a failed chunk write, multiplied by the attempts
+    private static final long RETRY_DELAY = 10;
     private static final String ENTITY_LIST_CREATE_FROM_NBT =
             "Lnet/minecraft/entity/EntityList;createEntityFromNBT(Lnet/minecraft/nbt/NBTTagCompound;Lnet/minecraft/world/World;)Lnet/minecraft/entity/Entity;";
 
@@ -89,75 +120,17 @@ public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
     @Shadow @Final private File chunkSaveLocation;
     @Shadow private boolean flushing;
 
-    @Shadow
-    public abstract void writeChunkData(ChunkPos pos, NBTTagCompound compound);
-
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World worldIn, NBTTagCompound compound, CallbackInfo ci) {
-        IMixinChunk chunk = (IMixinChunk) chunkIn;
-
-        // Add tracked block positions
-        if (chunk.getTrackedShortPlayerPositions().size() > 0 || chunk.getTrackedIntPlayerPositions().size() > 0) {
-            NBTTagCompound trackedNbt = new NBTTagCompound();
-            NBTTagList positions = new NBTTagList();
-            trackedNbt.setTag(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, positions);
-            compound.setTag(NbtDataUtil.SPONGE_DATA, trackedNbt);
-
-            for (Map.Entry<Short, PlayerTracker> mapEntry : chunk.getTrackedShortPlayerPositions().entrySet()) {
-                Short pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setShort("pos", pos);
-                positions.appendTag(valueNbt);
-            }
-
-            for (Map.Entry<Integer, PlayerTracker> mapEntry : chunk.getTrackedIntPlayerPositions().entrySet()) {
-                Integer pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setInteger("ipos", pos);
-                positions.appendTag(valueNbt);
-            }
-        }
+        WorldStorageUtil.writeTrackedPositions((IMixinChunk) chunkIn, compound);
     }
 
     @Inject(method = "readChunkFromNBT", at = @At(value = "INVOKE", target = "Lnet/minecraft/nbt/NBTTagCompound;getIntArray(Ljava/lang/String;)[I", shift = At.Shift.BEFORE), locals = LocalCapture.CAPTURE_FAILHARD)
     public void onReadChunkFromNBT(World worldIn, NBTTagCompound compound, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, int chunkX,
             int chunkZ, net.minecraft.world.chunk.Chunk chunkIn) {
-        if (compound.hasKey(NbtDataUtil.SPONGE_DATA)) {
-            Map<Integer, PlayerTracker> trackedIntPlayerPositions = Maps.newHashMap();
-            Map<Short, PlayerTracker> trackedShortPlayerPositions = Maps.newHashMap();
-            NBTTagList positions = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA).getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, 10);
-            IMixinChunk chunk = (IMixinChunk) chunkIn;
-            for (int i = 0; i < positions.tagCount(); i++) {
-                NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
-                boolean isShortPos = valueNbt.hasKey("pos");
-                PlayerTracker tracker = new PlayerTracker();
-                if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
-                } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
-                }
-                if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
-                }
-
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
-                    if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
-                    } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
-                    }
-                }
-            }
-            chunk.setTrackedIntPlayerPositions(trackedIntPlayerPositions);
-            chunk.setTrackedShortPlayerPositions(trackedShortPlayerPositions);
+        final ChunkPlayerTracker playerTracker = ((IMixinChunk) chunkIn).getPlayerTracker();
+        if (playerTracker != null && compound.hasKey(NbtDataUtil.SPONGE_DATA)) {
+            playerTracker.readFromNBT(compound.getCompoundTag(NbtDataUtil.SPONGE_DATA));
         }
     }
 
@@ -218,6 +191,11 @@ private static Entity onReadChunkEntity(NBTTagCompound compound, World world, Ch
         if (this.chunksToSave.containsKey(chunkcoordintpair)) {
             return true;
         }
+        synchronized (this.lock) {
+            if (this.pendingSnapshots.containsKey(chunkcoordintpair)) {
+                return true;
+            }
+        }
         // Sponge end
 
         return RegionFileCache.getChunkInputStream(this.chunkSaveLocation, x, z) != null;
@@ -234,10 +212,113 @@ private static Entity onReadChunkEntity(NBTTagCompound compound, World world, Ch
     protected void addChunkToPending(ChunkPos pos, NBTTagCompound compound) {
         synchronized (this.lock) {
             this.chunksToSave.put(pos, compound);
+            this.pendingSnapshots.remove(pos);
         }
+        this.pendingWrites.incrementAndGet();
         this.queue.add(new QueuedChunk(pos, compound));
+        this.scheduleIO();
+    }
+
+    /**
+     * Captures the chunk and leaves the encoding of its data to the io
+     * thread, see {@link ChunkSaveSnapshot}.
+     */
+    @Inject(method = "saveChunk", at = @At("HEAD"), cancellable = true)
+    private void onSaveChunk(World worldIn, Chunk chunkIn, CallbackInfo ci) throws MinecraftException {
+        if (!SpongeImplHooks.canSaveChunksOffThread()
+                || !SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getChunkIOCategory().useOffThreadSerialization()) {
+            return;
+        }
+        ci.cancel();
+        worldIn.checkSessionLock();
+        try {
+            final ChunkPos pos = chunkIn.getPos();
+            final ChunkSaveSnapshot snapshot = ChunkSaveSnapshot.capture(chunkIn, worldIn);
+            synchronized (this.lock) {
+                this.pendingSnapshots.put(pos, snapshot);
+            }
+            this.pendingWrites.incrementAndGet();
+            this.queue.add(new QueuedChunk(pos, snapshot));
+            this.scheduleIO();
+        } catch (Exception exception) {
+            LOGGER.error("Failed to save chunk", exception);
+        }
+    }
+
+    /**
+     * Makes loading a chunk that is captured but not yet written use the
+     * captured data. Forge moves the lookup of loadChunk to loadChunk__Async,
+     * one of both has to be redirected.
+     */
+    @Redirect(method = {"loadChunk", "loadChunk__Async"},
+            at = @At(value = "INVOKE", target = "Ljava/util/Map;get(Ljava/lang/Object;)Ljava/lang/Object;", remap = false), require = 1)
+    private Object onLoadChunkGetChunkToSave(Map<ChunkPos, NBTTagCompound> chunksToSave, Object pos) {
+        return this.getChunkToSave(chunksToSave, (ChunkPos) pos);
+    }
+
+    /**
+     * Checking whether a chunk exists only needs to know if it is pending,
+     * a captured chunk is not encoded for that.
+     */
+    @Redirect(method = "isChunkGeneratedAt",
+            at = @At(value = "INVOKE", target = "Ljava/util/Map;get(Ljava/lang/Object;)Ljava/lang/Object;", remap = false))
+    @Nullable
+    private Object onIsChunkGeneratedGetChunkToSave(Map<ChunkPos, NBTTagCompound> chunksToSave, Object pos) {
+        synchronized (this.lock) {
+            return this.pendingSnapshots.containsKey(pos) || chunksToSave.containsKey(pos) ? PENDING_CHUNK_MARKER : null;
+        }
+    }
+
+    @Nullable
+    private NBTTagCompound getChunkToSave(Map<ChunkPos, NBTTagCompound> chunksToSave, ChunkPos pos) {
+        final ChunkSaveSnapshot snapshot;
+        synchronized (this.lock) {
+            snapshot = this.pendingSnapshots.get(pos);
+            if (snapshot == null) {
+                return chunksToSave.get(pos);
+            }
+        }
+        final NBTTagCompound compound = snapshot.encode();
+        // Keep the encoded data pending like any other chunk, so later loads
+        // don't go through the snapshot again
+        synchronized (this.lock) {
+            if (this.pendingSnapshots.remove(pos, snapshot)) {
+                chunksToSave.put(pos, compound);
+            }
+        }
+        return compound;
+    }
+
+    private void scheduleIO() {
+        if (SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getChunkIOCategory().useDedicatedIOThread()) {
+            if (this.ioScheduled.compareAndSet(false, true)) {
+                this.getIOExecutor().execute(() -> {
+                    this.ioScheduled.set(false);
+                    while (this.writeNextIO()) {
+                        // Keep going until everything queued is written
+                    }
+                });
+            }
+        } else {
+            ThreadedFileIOBase.getThreadedIOInstance().queueIO((AnvilChunkLoader) (Object) this);
+        }
+    }
 
-        ThreadedFileIOBase.getThreadedIOInstance().queueIO((AnvilChunkLoader) (Object) this);
+    private ExecutorService getIOExecutor() {
+        if (this.ioExecutor == null) {
+            synchronized (this.lock) {
+                if (this.ioExecutor == null) {
+                    // The thread goes away while the world is idle or unloaded
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                            new ThreadFactoryBuilder().setNameFormat("Sponge - Chunk IO Thread (" + this.chunkSaveLocation.getName() + ")")
+                                    .setDaemon(true)
+                                    .build());
+                    executor.allowCoreThreadTimeOut(true);
+                    this.ioExecutor = executor;
+                }
+            }
+        }
+        return this.ioExecutor;
     }
 
     /**
@@ -247,59 +328,146 @@ protected void addChunkToPending(ChunkPos pos, NBTTagCompound compound) {
      */
     @Overwrite
     public boolean writeNextIO() {
-        QueuedChunk chunk = this.queue.poll();
-        if (chunk == null) {
-            if (this.flushing) {
-                LOGGER.info("ThreadedAnvilChunkStorage ({}): All chunks are saved", new Object[] {this.chunkSaveLocation.getName()});
+        // Sponge - Everything queued so far is written in one go, grouped by
+        // region file. Holding the io lock also makes a flush wait for a batch
+        // that is being written by a dedicated io thread.
+        synchronized (this.ioLock) {
+            this.queueDueRetries();
+            QueuedChunk chunk = this.queue.poll();
+            if (chunk == null) {
+                if (!this.retries.isEmpty()) {
+                    // Only failed chunks are left, wait until the next one is due
+                    this.awaitNextRetry();
+                    return true;
+                }
+                if (this.flushing) {
+                    LOGGER.info("ThreadedAnvilChunkStorage ({}): All chunks are saved", new Object[] {this.chunkSaveLocation.getName()});
+                }
+
+                return false;
             }
+            final Map<Long, List<QueuedChunk>> regions = new LinkedHashMap<>();
+            do {
+                this.pendingWrites.decrementAndGet();
+                synchronized (this.lock) {
+                    // A newer version of this chunk is queued behind this one,
+                    // so there is no point in writing this version.
+                    if (chunk.snapshot != null && chunk.compound == null) {
+                        // The snapshot may have been encoded by a load already
+                        final NBTTagCompound encoded = chunk.snapshot.getEncoded();
+                        if (this.pendingSnapshots.get(chunk.coords) != chunk.snapshot
+                                && (encoded == null || this.chunksToSave.get(chunk.coords) != encoded)) {
+                            continue;
+                        }
+                    } else if (this.chunksToSave.get(chunk.coords) != chunk.compound) {
+                        continue;
+                    }
+                }
+                final long regionKey = ChunkPos.asLong(chunk.coords.x >> 5, chunk.coords.z >> 5);
+                regions.computeIfAbsent(regionKey, key -> new ArrayList<>()).add(chunk);
+            } while ((chunk = this.queue.poll()) != null);
 
-            return false;
-        } else {
-            ChunkPos chunkpos = chunk.coords;
-            boolean lvt_3_1_;
+            for (List<QueuedChunk> regionChunks : regions.values()) {
+                this.writeRegionChunks(regionChunks);
+            }
+            return true;
+        }
+    }
 
+    private void writeRegionChunks(List<QueuedChunk> chunks) {
+        final ChunkPos first = chunks.get(0).coords;
+        RegionFile regionFile = null;
+        for (QueuedChunk chunk : chunks) {
+            final ChunkPos chunkpos = chunk.coords;
+            if (chunk.compound == null && !this.encodeSnapshot(chunk)) {
+                continue;
+            }
+            final NBTTagCompound nbttagcompound = chunk.compound;
             try {
-                // this.field_193415_c.add(chunkpos);
-                NBTTagCompound nbttagcompound = chunk.compound;
-
-                if (nbttagcompound != null) {
-                    int attempts = 0;
-                    Exception laste = null;
-                    while (attempts++ < 5) {
-                        try {
-                            this.writeChunkData(chunkpos, nbttagcompound);
-                            laste = null;
-                            break;
-                        } catch (Exception exception) {
-                            // LOGGER.error((String)"Failed to save chunk",
-                            // (Throwable)exception);
-                            laste = exception;
-                        }
-                        try {
-                            Thread.sleep(10);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                    if (laste != null) {
-                        laste.printStackTrace();
-                    }
+                if (regionFile == null) {
+                    regionFile = RegionFileCache.createOrLoadRegionFile(this.chunkSaveLocation, first.x, first.z);
+                }
+                final DataOutputStream stream = regionFile.getChunkDataOutputStream(chunkpos.x & 31, chunkpos.z & 31);
+                CompressedStreamTools.write(nbttagcompound, stream);
+                stream.close();
+            } catch (Exception exception) {
+                // Sponge - Instead of sleeping on the io thread right away,
+                // write everything else that is queued and try again later.
+                if (++chunk.attempts < 5) {
+                    chunk.retryAt = System.currentTimeMillis() + RETRY_DELAY * chunk.attempts;
+                    this.pendingWrites.incrementAndGet();
+                    this.retries.add(chunk);
+                    continue;
                 }
+                LOGGER.error("Failed to save chunk", exception);
+            }
 
-                synchronized (this.lock) {
-                    if (this.chunksToSave.get(chunkpos) == nbttagcompound) {
-                        this.chunksToSave.remove(chunkpos);
-                    }
+            synchronized (this.lock) {
+                if (this.chunksToSave.get(chunkpos) == nbttagcompound) {
+                    this.chunksToSave.remove(chunkpos);
                 }
-                // Sponge - This will not equal if a newer version is still
-                // pending
-                lvt_3_1_ = true;
-            } finally {
-                // this.field_193415_c.remove(chunkpos);
             }
+            // Sponge - This will not equal if a newer version is still
+            // pending
+        }
+    }
+
+    private void queueDueRetries() {
+        if (this.retries.isEmpty()) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final Iterator<QueuedChunk> it = this.retries.iterator();
+        while (it.hasNext()) {
+            final QueuedChunk chunk = it.next();
+            if (chunk.retryAt <= now) {
+                it.remove();
+                this.queue.add(chunk);
+            }
+        }
+    }
+
+    private void awaitNextRetry() {
+        long retryAt = Long.MAX_VALUE;
+        for (QueuedChunk chunk : this.retries) {
+            retryAt = Math.min(retryAt, chunk.retryAt);
+        }
+        final long delay = retryAt - System.currentTimeMillis();
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
 
-            return lvt_3_1_;
+    private boolean encodeSnapshot(QueuedChunk chunk) {
+        final ChunkSaveSnapshot snapshot = chunk.snapshot;
+        final NBTTagCompound compound;
+        try {
+            compound = snapshot.encode();
+        } catch (Exception exception) {
+            LOGGER.error("Failed to save chunk", exception);
+            synchronized (this.lock) {
+                this.pendingSnapshots.remove(chunk.coords, snapshot);
+            }
+            return false;
         }
+        chunk.compound = compound;
+        // From here on the chunk is pending like any other, loading it reads
+        // the encoded compound.
+        synchronized (this.lock) {
+            if (this.pendingSnapshots.remove(chunk.coords, snapshot)) {
+                this.chunksToSave.put(chunk.coords, compound);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getPendingChunkWrites() {
+        return this.pendingWrites.get();
     }
 
     @Override
@@ -64,7 +64,6 @@
 import org.spongepowered.common.util.CachedLong2ObjectMap;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.SpongeEmptyChunk;
-import org.spongepowered.common.world.storage.SpongeChunkDataStream;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
 import java.util.Iterator;
@@ -108,12 +107,17 @@ public WorldServer getWorld() {
         return this.world;
     }
 
+    @Override
+    public IChunkLoader getChunkLoader() {
+        return this.chunkLoader;
+    }
+
     @Override
     public ChunkDataStream getGeneratedChunks() {
         if (!(this.chunkLoader instanceof IMixinAnvilChunkLoader)) {
             throw new UnsupportedOperationException("unknown chunkLoader");
         }
-        return new SpongeChunkDataStream(((IMixinAnvilChunkLoader) this.chunkLoader).getWorldDir());
+        return WorldStorageUtil.createChunkDataStream(((IMixinAnvilChunkLoader) this.chunkLoader).getWorldDir());
     }
 
     @Override
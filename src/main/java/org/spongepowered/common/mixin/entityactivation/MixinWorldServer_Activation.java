@@ -27,14 +27,17 @@
 import net.minecraft.world.WorldServer;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.common.mixin.core.world.MixinWorld;
+import org.spongepowered.common.mixin.plugin.entityactivation.ActivationRangeField;
 import org.spongepowered.common.mixin.plugin.entityactivation.EntityActivationRange;
 
 @Mixin(value = WorldServer.class, priority = 1005)
 public abstract class MixinWorldServer_Activation extends MixinWorld {
 
+    private final ActivationRangeField activationRangeField = new ActivationRangeField();
+
     @Override
     public void entityActivationCheck() {
-        EntityActivationRange.activateEntities(((net.minecraft.world.World) (Object) this));
+        EntityActivationRange.activateEntities(((net.minecraft.world.World) (Object) this), this.activationRangeField);
     }
 
 }
@@ -44,21 +44,19 @@
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.world.LightUpdateQueue;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Mixin(value = Chunk.class, priority = 1002)
 public abstract class MixinChunk_Async_Lighting implements IMixinChunk {
 
-    // Keeps track of block positions in this chunk currently queued for sky light update
-    private CopyOnWriteArrayList<Short> queuedSkyLightingUpdates = new CopyOnWriteArrayList<>();
-    // Keeps track of block positions in this chunk currently queued for block light update
-    private CopyOnWriteArrayList<Short> queuedBlockLightingUpdates = new CopyOnWriteArrayList<>();
+    // Keeps track of block positions in this chunk currently queued for sky and block light updates
+    private final LightUpdateQueue lightUpdateQueue = new LightUpdateQueue();
     private AtomicInteger pendingLightUpdates = new AtomicInteger();
     private long lightUpdateTime;
     private ExecutorService lightExecutorService;
@@ -681,17 +679,8 @@ private boolean checkWorldLight(BlockPos pos, List<Chunk> neighbors) {
         return flag;
     }
 
-    /**
-     * Gets the list of block positions currently queued for lighting updates.
-     * 
-     * @param type The light type
-     * @return The list of queued block positions, empty if none
-     */
     @Override
-    public CopyOnWriteArrayList<Short> getQueuedLightingUpdates(EnumSkyBlock type) {
-        if (type == EnumSkyBlock.SKY) {
-            return this.queuedSkyLightingUpdates;
-        }
-        return this.queuedBlockLightingUpdates;
+    public LightUpdateQueue getLightUpdateQueue() {
+        return this.lightUpdateQueue;
     }
 }
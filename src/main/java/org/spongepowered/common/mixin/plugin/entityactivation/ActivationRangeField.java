@@ -0,0 +1,218 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.Reference2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the distance, in chunks, from every chunk to the closest player
+ * within a radius.
+ *
+ * <p>The field only changes when a player crosses a chunk border, joins or
+ * leaves, so the per tick cost is one lookup per player. Each chunk in range
+ * counts the players at every distance, which allows removing a player
+ * without rebuilding the chunks around other players.</p>
+ */
+public final class ActivationRangeField {
+
+    private static final long NO_CHUNK = Long.MIN_VALUE;
+
+    private final Long2ObjectOpenHashMap<Cell> cells = new Long2ObjectOpenHashMap<>();
+    private final Reference2LongOpenHashMap<EntityPlayer> playerChunks = new Reference2LongOpenHashMap<>();
+    @Nullable private final LongConsumer listener;
+    private int radius = -1;
+
+    public ActivationRangeField() {
+        this(null);
+    }
+
+    /**
+     * Creates a field that notifies the given listener with the chunk key of
+     * every chunk whose distance changed.
+     *
+     * @param listener The listener
+     */
+    public ActivationRangeField(@Nullable LongConsumer listener) {
+        this.listener = listener;
+        this.playerChunks.defaultReturnValue(NO_CHUNK);
+    }
+
+    /**
+     * Converts a range in blocks to the chunk distance used by this field.
+     * A range is rounded up to whole chunks, so any range greater than 0
+     * covers at least the neighbouring chunks.
+     *
+     * @param blockRange The range in blocks
+     * @return The range in chunks
+     */
+    public static int toChunkRange(int blockRange) {
+        return (blockRange + 15) >> 4;
+    }
+
+    /**
+     * Updates the field to the current chunk positions of the given players.
+     *
+     * @param players The players
+     * @param radius The radius in chunks around each player to keep distances for
+     */
+    public void update(List<? extends EntityPlayer> players, int radius) {
+        if (radius != this.radius) {
+            if (this.listener != null) {
+                final LongIterator iterator = this.cells.keySet().iterator();
+                while (iterator.hasNext()) {
+                    this.listener.accept(iterator.nextLong());
+                }
+            }
+            this.cells.clear();
+            this.playerChunks.clear();
+            this.radius = radius;
+        }
+
+        for (EntityPlayer player : players) {
+            final long chunk = ChunkPos.asLong(MathHelper.floor(player.posX) >> 4, MathHelper.floor(player.posZ) >> 4);
+            final long previous = this.playerChunks.put(player, chunk);
+            if (previous != chunk) {
+                if (previous != NO_CHUNK) {
+                    this.apply(previous, -1);
+                }
+                this.apply(chunk, 1);
+            }
+        }
+
+        if (this.playerChunks.size() != players.size()) {
+            // Some players left, drop their chunks from the field
+            final Set<EntityPlayer> current = new ReferenceOpenHashSet<>(players);
+            final ObjectIterator<Reference2LongMap.Entry<EntityPlayer>> iterator = this.playerChunks.reference2LongEntrySet().iterator();
+            while (iterator.hasNext()) {
+                final Reference2LongMap.Entry<EntityPlayer> entry = iterator.next();
+                if (!current.contains(entry.getKey())) {
+                    this.apply(entry.getLongValue(), -1);
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the distance from the given chunk to the closest player.
+     *
+     * @param chunkX The chunk x position
+     * @param chunkZ The chunk z position
+     * @return The distance in chunks, or {@link Integer#MAX_VALUE} if no player is within the radius
+     */
+    public int getDistance(int chunkX, int chunkZ) {
+        final Cell cell = this.cells.get(ChunkPos.asLong(chunkX, chunkZ));
+        return cell == null ? Integer.MAX_VALUE : cell.distance;
+    }
+
+    /**
+     * Visits every chunk within the radius of at least one player.
+     *
+     * @param visitor The visitor
+     */
+    public void forEach(Visitor visitor) {
+        final ObjectIterator<Long2ObjectMap.Entry<Cell>> iterator = ((Long2ObjectMap.FastEntrySet<Cell>) this.cells.long2ObjectEntrySet()).fastIterator();
+        while (iterator.hasNext()) {
+            final Long2ObjectMap.Entry<Cell> entry = iterator.next();
+            final long key = entry.getLongKey();
+            visitor.visit((int) key, (int) (key >> 32), entry.getValue().distance);
+        }
+    }
+
+    private void apply(long center, int delta) {
+        final int centerX = (int) center;
+        final int centerZ = (int) (center >> 32);
+        for (int x = -this.radius; x <= this.radius; x++) {
+            for (int z = -this.radius; z <= this.radius; z++) {
+                final long key = ChunkPos.asLong(centerX + x, centerZ + z);
+                final int distance = Math.max(Math.abs(x), Math.abs(z));
+                Cell cell = this.cells.get(key);
+                if (cell == null) {
+                    if (delta < 0) {
+                        continue;
+                    }
+                    cell = new Cell(this.radius);
+                    this.cells.put(key, cell);
+                }
+                final int previous = cell.distance;
+                cell.players[distance] += delta;
+                if (cell.update()) {
+                    this.cells.remove(key);
+                }
+                if (this.listener != null && cell.distance != previous) {
+                    this.listener.accept(key);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+
+        void visit(int chunkX, int chunkZ, int distance);
+    }
+
+    private static final class Cell {
+
+        // The amount of players at each distance
+        final int[] players;
+        int distance = Integer.MAX_VALUE;
+
+        Cell(int radius) {
+            this.players = new int[radius + 1];
+        }
+
+        /**
+         * Recomputes the closest distance.
+         *
+         * @return True if no player is in range anymore
+         */
+        boolean update() {
+            for (int i = 0; i < this.players.length; i++) {
+                if (this.players[i] > 0) {
+                    this.distance = i;
+                    return false;
+                }
+            }
+            this.distance = Integer.MAX_VALUE;
+            return true;
+        }
+    }
+}
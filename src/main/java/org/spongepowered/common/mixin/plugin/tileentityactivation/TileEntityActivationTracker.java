@@ -0,0 +1,160 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.tileentityactivation;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.ITickable;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.mixin.plugin.entityactivation.ActivationRangeField;
+import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the tickable tileentities of a world that are within activation
+ * range of a player, per chunk.
+ *
+ * <p>The active tileentities of a chunk are only recomputed when the
+ * distance from the chunk to the closest player changes, or when a
+ * tileentity is added to or removed from the chunk. Every tick only the
+ * active tileentities are visited instead of the full tileentity map of
+ * every watched chunk.</p>
+ */
+public final class TileEntityActivationTracker {
+
+    private final WorldServer world;
+    private final ActivationRangeField field = new ActivationRangeField(this::markChunkDirty);
+    private final Long2ObjectOpenHashMap<List<TileEntity>> activeTileEntities = new Long2ObjectOpenHashMap<>();
+    private final LongOpenHashSet dirtyChunks = new LongOpenHashSet();
+    private int maxActivationRange;
+
+    public TileEntityActivationTracker(WorldServer world, int defaultActivationRange) {
+        this.world = world;
+        this.maxActivationRange = defaultActivationRange;
+    }
+
+    /**
+     * Called when a tickable tileentity is added to or removed from a chunk.
+     *
+     * @param tileEntity The tileentity
+     */
+    public void onTileEntityChanged(TileEntity tileEntity) {
+        this.maxActivationRange = Math.max(this.maxActivationRange, ((IModData_Activation) tileEntity).getActivationRange());
+        this.markChunkDirty(ChunkPos.asLong(tileEntity.getPos().getX() >> 4, tileEntity.getPos().getZ() >> 4));
+    }
+
+    /**
+     * Called when the tileentities of a chunk have to be recomputed, such as
+     * when the chunk is unloaded.
+     *
+     * @param chunkX The chunk x position
+     * @param chunkZ The chunk z position
+     */
+    public void onChunkChanged(int chunkX, int chunkZ) {
+        this.markChunkDirty(ChunkPos.asLong(chunkX, chunkZ));
+    }
+
+    private void markChunkDirty(long chunk) {
+        this.dirtyChunks.add(chunk);
+    }
+
+    /**
+     * Marks the tileentities that are within range of a player as active for
+     * the current tick.
+     */
+    public void activateTileEntities() {
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        final int maxRange = Math.min((SpongeImpl.getServer().getPlayerList().getViewDistance() << 4) - 8, this.maxActivationRange);
+        this.field.update(this.world.playerEntities, ActivationRangeField.toChunkRange(maxRange));
+
+        if (!this.dirtyChunks.isEmpty()) {
+            final LongIterator iterator = this.dirtyChunks.iterator();
+            while (iterator.hasNext()) {
+                this.updateChunk(iterator.nextLong());
+            }
+            this.dirtyChunks.clear();
+        }
+
+        final ObjectIterator<Long2ObjectMap.Entry<List<TileEntity>>> iterator =
+                ((Long2ObjectMap.FastEntrySet<List<TileEntity>>) this.activeTileEntities.long2ObjectEntrySet()).fastIterator();
+        while (iterator.hasNext()) {
+            final Long2ObjectMap.Entry<List<TileEntity>> entry = iterator.next();
+            for (TileEntity tileEntity : entry.getValue()) {
+                if (tileEntity.isInvalid()) {
+                    // Removed without going through the chunk, recompute next tick
+                    this.dirtyChunks.add(entry.getLongKey());
+                    continue;
+                }
+                ((IModData_Activation) tileEntity).setActivatedTick(currentTick);
+            }
+        }
+    }
+
+    private void updateChunk(long key) {
+        final int chunkX = (int) key;
+        final int chunkZ = (int) (key >> 32);
+        final int distance = this.field.getDistance(chunkX, chunkZ);
+        final Chunk chunk = distance == Integer.MAX_VALUE ? null
+                : ((IMixinChunkProviderServer) this.world.getChunkProvider()).getLoadedChunkWithoutMarkingActive(chunkX, chunkZ);
+        if (chunk == null || chunk.unloadQueued) {
+            this.activeTileEntities.remove(key);
+            return;
+        }
+
+        final List<TileEntity> active = new ArrayList<>();
+        for (TileEntity tileEntity : chunk.getTileEntityMap().values()) {
+            if (!(tileEntity instanceof ITickable) || tileEntity.isInvalid()) {
+                continue;
+            }
+            final IModData_Activation spongeTileEntity = (IModData_Activation) tileEntity;
+            // check if activation cache needs to be updated
+            if (spongeTileEntity.requiresActivationCacheRefresh()) {
+                TileEntityActivation.initializeTileEntityActivationState(tileEntity);
+                spongeTileEntity.requiresActivationCacheRefresh(false);
+                this.maxActivationRange = Math.max(this.maxActivationRange, spongeTileEntity.getActivationRange());
+            }
+            if (spongeTileEntity.getDefaultActivationState()
+                    || distance <= ActivationRangeField.toChunkRange(spongeTileEntity.getActivationRange())) {
+                active.add(tileEntity);
+            }
+        }
+
+        if (active.isEmpty()) {
+            this.activeTileEntities.remove(key);
+        } else {
+            this.activeTileEntities.put(key, active);
+        }
+    }
+}
@@ -39,11 +39,20 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivation;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivationTracker;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.IModData_TileEntityActivation;
+
+import java.util.Map;
+
+import javax.annotation.Nullable;
 
 @Mixin(Chunk.class)
 public class MixinChunk_TileEntityActivation {
 
     @Shadow @Final private World world;
+    @Shadow @Final private Map<BlockPos, net.minecraft.tileentity.TileEntity> tileEntities;
+    @Shadow @Final public int x;
+    @Shadow @Final public int z;
 
     @Inject(method = "addTileEntity(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/tileentity/TileEntity;)V", at = @At("RETURN"))
     public void onAddTileEntity(BlockPos pos, net.minecraft.tileentity.TileEntity tileEntityIn, CallbackInfo ci) {
@@ -60,6 +69,38 @@ public void onAddTileEntity(BlockPos pos, net.minecraft.tileentity.TileEntity ti
             if (!spongeTile.getDefaultActivationState()) {
                 TileEntityActivation.addTileEntityToConfig(this.world, (SpongeTileEntityType) ((TileEntity) tileEntityIn).getType());
             }
+            this.onTileEntityChanged(tileEntityIn);
+        }
+    }
+
+    @Inject(method = "removeTileEntity", at = @At("HEAD"))
+    public void onRemoveTileEntity(BlockPos pos, CallbackInfo ci) {
+        final net.minecraft.tileentity.TileEntity tileEntity = this.tileEntities.get(pos);
+        if (tileEntity instanceof ITickable && !this.world.isRemote) {
+            this.onTileEntityChanged(tileEntity);
+        }
+    }
+
+    @Inject(method = "onUnload", at = @At("RETURN"))
+    public void onUnloadTileEntityActivation(CallbackInfo ci) {
+        final TileEntityActivationTracker tracker = this.getTileEntityActivationTracker();
+        if (tracker != null) {
+            tracker.onChunkChanged(this.x, this.z);
+        }
+    }
+
+    private void onTileEntityChanged(net.minecraft.tileentity.TileEntity tileEntity) {
+        final TileEntityActivationTracker tracker = this.getTileEntityActivationTracker();
+        if (tracker != null) {
+            tracker.onTileEntityChanged(tileEntity);
+        }
+    }
+
+    @Nullable
+    private TileEntityActivationTracker getTileEntityActivationTracker() {
+        if (this.world instanceof IModData_TileEntityActivation) {
+            return ((IModData_TileEntityActivation) this.world).getTileEntityActivationTracker();
         }
+        return null;
     }
 }
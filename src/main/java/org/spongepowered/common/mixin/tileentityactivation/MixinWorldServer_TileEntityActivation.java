@@ -28,16 +28,43 @@
 import net.minecraft.world.WorldServer;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.config.category.TileEntityActivationCategory;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.mixin.core.world.MixinWorld;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivation;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivationTracker;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.IModData_TileEntityActivation;
+
+import javax.annotation.Nullable;
 
 @Mixin(value = WorldServer.class, priority = 1300)
-public abstract class MixinWorldServer_TileEntityActivation extends MixinWorld {
+public abstract class MixinWorldServer_TileEntityActivation extends MixinWorld implements IModData_TileEntityActivation {
+
+    @Nullable private TileEntityActivationTracker tileEntityActivationTracker;
+    private boolean tileEntityActivationTrackerInitialized;
 
     @Override
     public void spongeTileEntityActivation() {
-        TileEntityActivation.activateTileEntities((WorldServer) (Object) this);
+        final TileEntityActivationTracker tracker = this.getTileEntityActivationTracker();
+        if (tracker != null) {
+            tracker.activateTileEntities();
+        } else {
+            TileEntityActivation.activateTileEntities((WorldServer) (Object) this);
+        }
+    }
+
+    @Nullable
+    @Override
+    public TileEntityActivationTracker getTileEntityActivationTracker() {
+        if (!this.tileEntityActivationTrackerInitialized) {
+            this.tileEntityActivationTrackerInitialized = true;
+            final TileEntityActivationCategory config = ((IMixinWorldServer) this).getActiveConfig().getConfig().getTileEntityActivationRange();
+            if (config.isEventDriven()) {
+                this.tileEntityActivationTracker = new TileEntityActivationTracker((WorldServer) (Object) this, config.getDefaultBlockRange());
+            }
+        }
+        return this.tileEntityActivationTracker;
     }
 
     // TODO 1.12-pre2 I have no fucking clue what this injection is trying to target
@@ -24,12 +24,15 @@
  */
 package org.spongepowered.common.scheduler;
 
-import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
-
-import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import org.spongepowered.common.config.category.SchedulerCategory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -37,30 +40,51 @@
 
 public class AsyncScheduler extends SchedulerBase {
 
+    private static final long SWITCHING_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long REJECTED_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long REJECTED_WARNING_NANOS = TimeUnit.SECONDS.toNanos(10);
+
     // Adjustable timeout for pending Tasks
     private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
     // Locking mechanism
     private final Lock lock = new ReentrantLock();
     private final Condition condition = this.lock.newCondition();
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // Pending tasks ordered by the timestamp they are next due at, guarded by the lock.
+    private final PriorityQueue<PendingTask> pendingTasks = new PriorityQueue<>();
+    private final List<PendingTask> requeue = new ArrayList<>();
+    private long pendingSequence = 0L;
+    // Whether the last execution was rejected and when that was last logged,
+    // only used by the scheduler thread.
+    private boolean rejected;
+    private long lastRejectedWarning;
+    // The per plugin queuing executor of asynchronous tasks.
+    private final AsyncTaskExecutor executor;
 
     AsyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
 
+        final SchedulerCategory config = SpongeImpl.getGlobalConfig().getConfig().getScheduler();
+        this.executor = new AsyncTaskExecutor(config.getAsyncMaxThreads(), config.getAsyncMaxQueuedPerPlugin());
+
         Thread thread = new Thread(AsyncScheduler.this::mainLoop);
         thread.setName("Sponge Async Scheduler Thread");
         thread.setDaemon(true);
         thread.start();
     }
 
-    ExecutorService getExecutor() {
-        return this.executor;
+    Executor getExecutor() {
+        return runnable -> {
+            if (!this.executor.execute(SpongeImpl.getPlugin(), runnable)) {
+                throw new RejectedExecutionException("Too many queued asynchronous executions");
+            }
+        };
+    }
+
+    Collection<PluginTaskStats> getTaskStats() {
+        return this.executor.getStats();
     }
 
     private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
         while (true) {
             recalibrateMinimumTimeout();
             this.runTick();
@@ -70,35 +94,13 @@ private void mainLoop() {
     private void recalibrateMinimumTimeout() {
         this.lock.lock();
         try {
-            Set<Task> tasks = this.getScheduledTasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            long now = System.nanoTime();
-            for (Task tmpTask : tasks) {
-                ScheduledTask task = (ScheduledTask) tmpTask;
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                long timeSinceLast = now - task.getTimestamp();
-
-                if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an offset and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.offset - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.period > 0 && task.getState().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.period - timeSinceLast, this.minimumTimeout);
-                }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
-            }
-            if (!tasks.isEmpty()) {
-                long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
+            // Only the earliest deadline matters, everything behind it in the
+            // queue is due at the same time or later.
+            PendingTask next = this.pendingTasks.peek();
+            if (next == null) {
+                this.minimumTimeout = Long.MAX_VALUE;
+            } else {
+                this.minimumTimeout = Math.max(0L, next.deadline - System.nanoTime());
             }
         } finally {
             this.lock.unlock();
@@ -109,7 +111,9 @@ private void recalibrateMinimumTimeout() {
     protected void preTick() {
         this.lock.lock();
         try {
-            this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
+            if (this.minimumTimeout > 0) {
+                this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
+            }
         } catch (InterruptedException ignored) {
             // The taskMap has been modified; there is work to do.
             // Continue on without handling the Exception.
@@ -119,8 +123,28 @@ protected void preTick() {
     }
 
     @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
+    protected void processTasks() {
+        // Pop only the tasks whose deadline has passed, tasks that are still
+        // pending afterwards (repeating tasks) are queued again with their new
+        // deadline. Cancelled tasks are removed from the queue right away by
+        // onTaskCancelled.
+        final long now = System.nanoTime();
+        PendingTask next;
+        while ((next = this.pendingTasks.peek()) != null && next.deadline - now <= 0) {
+            this.pendingTasks.poll();
+            final ScheduledTask task = next.task;
+            this.rejected = false;
+            this.processTask(task);
+            if (this.isTaskPending(task)) {
+                // A task whose previous execution has not started yet is still
+                // switching and was not started again, check back on it shortly.
+                // A rejected execution waits for the executor to catch up.
+                final long retry = this.rejected ? REJECTED_RETRY_NANOS : SWITCHING_RETRY_NANOS;
+                this.requeue.add(new PendingTask(task, Math.max(task.nextExecutionTimestamp() - now, retry) + now, this.pendingSequence++));
+            }
+        }
+        this.pendingTasks.addAll(this.requeue);
+        this.requeue.clear();
     }
 
     @Override
@@ -129,8 +153,19 @@ protected void finallyPostTick() {
     }
 
     @Override
-    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
-        this.executor.submit(runnable);
+    protected boolean executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+        if (this.executor.execute(task.getOwner(), runnable)) {
+            return true;
+        }
+        // The task stays scheduled and is started once there is room again
+        this.rejected = true;
+        final long now = System.nanoTime();
+        if (now - this.lastRejectedWarning >= REJECTED_WARNING_NANOS) {
+            this.lastRejectedWarning = now;
+            SpongeImpl.getLogger().warn("Delayed an execution of the asynchronous task {} owned by {}, the plugin has too many queued executions.",
+                    task.getName(), task.getOwner());
+        }
+        return false;
     }
 
     @Override
@@ -138,10 +173,60 @@ protected void addTask(ScheduledTask task) {
         this.lock.lock();
         try {
             super.addTask(task);
+            this.enqueue(task);
             this.condition.signalAll();
         } finally {
             this.lock.unlock();
         }
     }
 
+    @Override
+    protected void onTaskCancelled(ScheduledTask task) {
+        // The task may be due much later, don't keep it around until then
+        this.lock.lock();
+        try {
+            this.removeTask(task);
+            this.pendingTasks.removeIf(pending -> pending.task == task);
+            this.condition.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void enqueue(ScheduledTask task) {
+        this.enqueue(task, task.nextExecutionTimestamp());
+    }
+
+    private void enqueue(ScheduledTask task, long deadline) {
+        this.pendingTasks.add(new PendingTask(task, deadline, this.pendingSequence++));
+    }
+
+    /**
+     * An entry in the pending queue. The deadline is captured when the task is
+     * queued so that state changes made by other threads (i.e. cancelling the
+     * task) cannot reorder the heap underneath us.
+     */
+    private static final class PendingTask implements Comparable<PendingTask> {
+
+        final ScheduledTask task;
+        final long deadline;
+        private final long sequence;
+
+        PendingTask(ScheduledTask task, long deadline, long sequence) {
+            this.task = task;
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(PendingTask other) {
+            // nanoTime values have to be compared by their difference
+            final long diff = this.deadline - other.deadline;
+            if (diff != 0) {
+                return diff < 0 ? -1 : 1;
+            }
+            return Long.compare(this.sequence, other.sequence);
+        }
+    }
+
 }
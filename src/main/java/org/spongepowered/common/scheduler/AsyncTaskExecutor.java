@@ -0,0 +1,169 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs the asynchronous task executions on behalf of plugins.
+ *
+ * <p>If bounded, a fixed amount of worker threads take turns between the
+ * plugins that have queued executions, so a plugin that floods the scheduler
+ * only delays its own tasks. Otherwise every execution is handed straight to
+ * a cached thread pool. In both cases the executions are counted per
+ * plugin.</p>
+ */
+final class AsyncTaskExecutor {
+
+    private final Map<PluginContainer, PluginTaskStats> stats = new ConcurrentHashMap<>();
+    private final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+            .setNameFormat("Sponge Async Scheduler Worker #%d")
+            .setDaemon(true)
+            .build();
+    private final int maxQueuedPerPlugin;
+    // Only used if unbounded
+    private final ExecutorService cachedExecutor;
+    // Only used if bounded, all guarded by the lock
+    private final Lock lock = new ReentrantLock();
+    private final Condition notEmpty = this.lock.newCondition();
+    private final Map<PluginContainer, PluginQueue> queues = new HashMap<>();
+    private final ArrayDeque<PluginQueue> readyQueues = new ArrayDeque<>();
+
+    AsyncTaskExecutor(int maxThreads, int maxQueuedPerPlugin) {
+        this.maxQueuedPerPlugin = maxQueuedPerPlugin;
+        if (maxThreads <= 0) {
+            this.cachedExecutor = Executors.newCachedThreadPool(this.threadFactory);
+        } else {
+            this.cachedExecutor = null;
+            for (int i = 0; i < maxThreads; i++) {
+                this.threadFactory.newThread(this::workerLoop).start();
+            }
+        }
+    }
+
+    Collection<PluginTaskStats> getStats() {
+        return ImmutableList.copyOf(this.stats.values());
+    }
+
+    private PluginTaskStats getStats(PluginContainer plugin) {
+        return this.stats.computeIfAbsent(plugin, PluginTaskStats::new);
+    }
+
+    /**
+     * Queues the runnable to be executed on behalf of the plugin.
+     *
+     * @param plugin The plugin owning the runnable
+     * @param runnable The runnable
+     * @return False if the plugin has too many queued executions and the
+     *     runnable was rejected
+     */
+    boolean execute(PluginContainer plugin, Runnable runnable) {
+        final PluginTaskStats stats = this.getStats(plugin);
+        final Runnable measured = () -> {
+            stats.queued.decrementAndGet();
+            stats.running.incrementAndGet();
+            final long start = System.nanoTime();
+            try {
+                runnable.run();
+            } finally {
+                stats.recordRunTime(System.nanoTime() - start);
+                stats.running.decrementAndGet();
+                stats.completed.incrementAndGet();
+            }
+        };
+        if (this.cachedExecutor != null) {
+            stats.queued.incrementAndGet();
+            this.cachedExecutor.execute(measured);
+            return true;
+        }
+        this.lock.lock();
+        try {
+            final PluginQueue queue = this.queues.computeIfAbsent(plugin, key -> new PluginQueue());
+            if (this.maxQueuedPerPlugin > 0 && queue.runnables.size() >= this.maxQueuedPerPlugin) {
+                stats.rejected.incrementAndGet();
+                return false;
+            }
+            stats.queued.incrementAndGet();
+            queue.runnables.add(measured);
+            if (!queue.ready) {
+                queue.ready = true;
+                this.readyQueues.add(queue);
+                this.notEmpty.signal();
+            }
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void workerLoop() {
+        while (true) {
+            final Runnable runnable;
+            this.lock.lock();
+            try {
+                PluginQueue queue;
+                while ((queue = this.readyQueues.poll()) == null) {
+                    this.notEmpty.awaitUninterruptibly();
+                }
+                runnable = queue.runnables.poll();
+                // Plugins with more pending work go to the back of the line
+                if (queue.runnables.isEmpty()) {
+                    queue.ready = false;
+                } else {
+                    this.readyQueues.add(queue);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+            try {
+                runnable.run();
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("An asynchronous task execution threw an uncaught exception", t);
+            }
+        }
+    }
+
+    private static final class PluginQueue {
+
+        final ArrayDeque<Runnable> runnables = new ArrayDeque<>();
+        boolean ready;
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the asynchronous task executions of a single plugin.
+ */
+public final class PluginTaskStats {
+
+    // The amount of recent run times kept to compute the percentiles
+    private static final int SAMPLE_COUNT = 1024;
+
+    private final PluginContainer owner;
+    final AtomicInteger queued = new AtomicInteger();
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicLong rejected = new AtomicLong();
+    final AtomicLong completed = new AtomicLong();
+    private final long[] samples = new long[SAMPLE_COUNT];
+    private int sampleIndex;
+    private int sampleSize;
+
+    PluginTaskStats(PluginContainer owner) {
+        this.owner = owner;
+    }
+
+    public PluginContainer getOwner() {
+        return this.owner;
+    }
+
+    public int getQueued() {
+        return this.queued.get();
+    }
+
+    public int getRunning() {
+        return this.running.get();
+    }
+
+    public long getRejected() {
+        return this.rejected.get();
+    }
+
+    public long getCompleted() {
+        return this.completed.get();
+    }
+
+    synchronized void recordRunTime(long nanos) {
+        this.samples[this.sampleIndex] = nanos;
+        this.sampleIndex = (this.sampleIndex + 1) % SAMPLE_COUNT;
+        if (this.sampleSize < SAMPLE_COUNT) {
+            this.sampleSize++;
+        }
+    }
+
+    /**
+     * Gets the run time percentile over the most recent executions.
+     *
+     * @param percentile The percentile, between 0 and 1
+     * @return The run time in milliseconds, or 0 if nothing ran yet
+     */
+    public double getRunTimePercentile(double percentile) {
+        final long[] sorted;
+        synchronized (this) {
+            if (this.sampleSize == 0) {
+                return 0;
+            }
+            sorted = Arrays.copyOf(this.samples, this.sampleSize);
+        }
+        Arrays.sort(sorted);
+        final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+}
@@ -31,6 +31,7 @@
 
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.common.SpongeImpl;
 
 import java.util.UUID;
 import java.util.function.Consumer;
@@ -54,6 +55,7 @@ public class ScheduledTask implements Task {
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
     private Timing taskTimer;
+    private long deferredCount;
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -133,6 +135,7 @@ public boolean cancel() {
             success = true;
         }
         this.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+        SpongeImpl.getScheduler().cancel(this);
         return success;
     }
 
@@ -202,4 +205,18 @@ public Timing getTimingsHandler() {
         }
         return this.taskTimer;
     }
+
+    /**
+     * Gets the number of ticks this task was due but carried over to a
+     * later tick because the sync tick budget was spent.
+     *
+     * @return The deferred count
+     */
+    public long getDeferredCount() {
+        return this.deferredCount;
+    }
+
+    void incrementDeferredCount() {
+        this.deferredCount++;
+    }
 }
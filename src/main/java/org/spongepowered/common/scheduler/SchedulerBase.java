@@ -33,6 +33,7 @@
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -88,6 +89,35 @@ protected void removeTask(ScheduledTask task) {
         this.taskMap.remove(task.getUniqueId());
     }
 
+    /**
+     * Called after the task was cancelled. By default the task is removed on
+     * the next call to {@link #runTick}.
+     *
+     * @param task The cancelled task
+     */
+    protected void onTaskCancelled(ScheduledTask task) {
+    }
+
+    /**
+     * Gets whether the task is still known to this scheduler, i.e. it was
+     * neither cancelled and removed nor a completed one shot task.
+     *
+     * @param task The task
+     * @return True if the task is still pending
+     */
+    protected boolean isTaskPending(ScheduledTask task) {
+        return this.taskMap.containsKey(task.getUniqueId());
+    }
+
+    /**
+     * Gets a live view of the tasks in the task map.
+     *
+     * @return The pending tasks
+     */
+    protected Collection<ScheduledTask> getPendingTasks() {
+        return this.taskMap.values();
+    }
+
     protected Optional<Task> getTask(UUID id) {
         return Optional.<Task>ofNullable(this.taskMap.get(id));
     }
@@ -105,7 +135,7 @@ protected final void runTick() {
         this.preTick();
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.startTimingIfSync();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            this.processTasks();
             this.postTick();
         } finally {
             this.finallyPostTick();
@@ -113,6 +143,15 @@ protected final void runTick() {
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.stopTimingIfSync();
     }
 
+    /**
+     * Processes the tasks that may be due on this tick. By default every task
+     * in the map is visited, implementations that keep their own ordering of
+     * pending tasks may narrow this down to the tasks that are actually due.
+     */
+    protected void processTasks() {
+        this.getPendingTasks().forEach(this::processTask);
+    }
+
     /**
      * Fired when the scheduler begins to tick, before any tasks are processed.
      */
@@ -144,6 +183,18 @@ protected void processTask(ScheduledTask task) {
             this.removeTask(task);
             return;
         }
+        if (this.isTaskDue(task)) {
+            this.startDueTask(task);
+        }
+    }
+
+    /**
+     * Gets whether the delay or interval of the task has passed.
+     *
+     * @param task The task
+     * @return True if the task should be started
+     */
+    protected boolean isTaskDue(ScheduledTask task) {
         long threshold = Long.MAX_VALUE;
         // Figure out if we start a delayed Task after threshold ticks or, start
         // it after the interval (period) of the repeating task parameter.
@@ -156,17 +207,32 @@ protected void processTask(ScheduledTask task) {
         long now = this.getTimestamp(task);
         // So, if the current time minus the timestamp of the task is greater
         // than the delay to wait before starting the task, then start the task.
-        // Repeating tasks get a reset-timestamp each time they are set RUNNING
-        // If the task has a period of 0 (zero) this task will not repeat, and
-        // is removed after we start it.
-        if (threshold <= (now - task.getTimestamp())) {
-            task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
-            task.setTimestamp(this.getTimestamp(task));
-            startTask(task);
-            // If task is one time shot, remove it from the map.
-            if (task.period == 0L) {
-                this.removeTask(task);
-            }
+        return threshold <= (now - task.getTimestamp());
+    }
+
+    /**
+     * Starts a task that is due. Repeating tasks get a reset-timestamp each
+     * time they are set RUNNING. If the task has a period of 0 (zero) this
+     * task will not repeat, and is removed after we start it.
+     *
+     * <p>If the execution is rejected, the task is left as it was so that it
+     * is due again and started later.</p>
+     *
+     * @param task The task to start
+     */
+    protected void startDueTask(ScheduledTask task) {
+        final ScheduledTask.ScheduledTaskState state = task.getState();
+        final long timestamp = task.getTimestamp();
+        task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+        task.setTimestamp(this.getTimestamp(task));
+        if (!startTask(task)) {
+            task.setState(state);
+            task.setTimestamp(timestamp);
+            return;
+        }
+        // If task is one time shot, remove it from the map.
+        if (task.period == 0L) {
+            this.removeTask(task);
         }
     }
 
@@ -174,9 +240,10 @@ protected void processTask(ScheduledTask task) {
      * Begin the execution of a task. Exceptions are caught and logged.
      *
      * @param task The task to start
+     * @return Whether the execution was accepted
      */
-    protected void startTask(final ScheduledTask task) {
-        this.executeTaskRunnable(task, () -> {
+    protected boolean startTask(final ScheduledTask task) {
+        return this.executeTaskRunnable(task, () -> {
             task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
             if(!task.isAsynchronous()) {
                 Sponge.getCauseStackManager().pushCause(task.getOwner());
@@ -199,7 +266,8 @@ protected void startTask(final ScheduledTask task) {
      * Actually run the runnable that will begin the task
      *
      * @param runnable The runnable to run
+     * @return Whether the runnable was run or queued to be run
      */
-    protected abstract void executeTaskRunnable(ScheduledTask task, Runnable runnable);
+    protected abstract boolean executeTaskRunnable(ScheduledTask task, Runnable runnable);
 
 }
@@ -37,6 +37,7 @@
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.util.Functional;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.Set;
@@ -175,6 +176,10 @@ void submit(ScheduledTask task) {
         getDelegate(task).addTask(task);
     }
 
+    void cancel(ScheduledTask task) {
+        getDelegate(task).onTaskCancelled(task);
+    }
+
     /**
      * Ticks the synchronous scheduler.
      */
@@ -182,6 +187,15 @@ public void tickSyncScheduler() {
         this.syncScheduler.tick();
     }
 
+    /**
+     * Gets the counters of the asynchronous task executions per plugin.
+     *
+     * @return The counters
+     */
+    public Collection<PluginTaskStats> getAsyncTaskStats() {
+        return this.asyncScheduler.getTaskStats();
+    }
+
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
         return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
     }
@@ -24,11 +24,19 @@
  */
 package org.spongepowered.common.scheduler;
 
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 public class SyncScheduler extends SchedulerBase {
 
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
     // The number of ticks elapsed since this scheduler began.
     private volatile long counter = 0L;
 
@@ -44,6 +52,47 @@ void tick() {
         this.runTick();
     }
 
+    @Override
+    protected void processTasks() {
+        final int budget = SpongeImpl.getGlobalConfig().getConfig().getScheduler().getSyncTickBudget();
+        if (budget <= 0) {
+            super.processTasks();
+            return;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budget);
+        final List<ScheduledTask> dueTasks = new ArrayList<>();
+        for (ScheduledTask task : this.getPendingTasks()) {
+            if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+                this.removeTask(task);
+            } else if (this.isTaskDue(task)) {
+                dueTasks.add(task);
+            }
+        }
+        // Deferred tasks stay due, so the longest overdue tasks go first
+        dueTasks.sort(Comparator.comparingLong(this::getOverdueNanos).reversed());
+        for (ScheduledTask task : dueTasks) {
+            if (this.isBudgetSpent(deadline)) {
+                task.incrementDeferredCount();
+            } else {
+                this.startDueTask(task);
+            }
+        }
+    }
+
+    /**
+     * Gets how long the task has been due, ticks are counted as 50
+     * milliseconds so tick and time based tasks can be compared.
+     */
+    private long getOverdueNanos(ScheduledTask task) {
+        final long overdue = this.getTimestamp(task) - task.nextExecutionTimestamp();
+        final boolean ticks = task.getState() == ScheduledTask.ScheduledTaskState.WAITING ? task.delayIsTicks : task.intervalIsTicks;
+        return ticks ? overdue * TICK_NANOS : overdue;
+    }
+
+    private boolean isBudgetSpent(long deadline) {
+        return System.nanoTime() - deadline >= 0;
+    }
+
     @Override
     protected long getTimestamp(ScheduledTask task) {
         if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
@@ -63,12 +112,13 @@ protected long getTimestamp(ScheduledTask task) {
     }
 
     @Override
-    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+    protected boolean executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         try (BasicPluginContext context = PluginPhase.State.SCHEDULED_TASK.createPhaseContext()
                 .source(task)
                 .buildAndSwitch()) {
             runnable.run();
         }
+        return true;
     }
 
 }
@@ -26,13 +26,24 @@
 
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.ChunkPos;
+import org.spongepowered.common.world.storage.ChunkSaveSnapshot;
+
+import javax.annotation.Nullable;
 
 public class QueuedChunk {
     public ChunkPos coords;
-    public NBTTagCompound compound;
+    @Nullable public NBTTagCompound compound;
+    @Nullable public ChunkSaveSnapshot snapshot;
+    public int attempts;
+    public long retryAt;
 
     public QueuedChunk(ChunkPos coords, NBTTagCompound compound) {
         this.coords = coords;
         this.compound = compound;
     }
+
+    public QueuedChunk(ChunkPos coords, ChunkSaveSnapshot snapshot) {
+        this.coords = coords;
+        this.snapshot = snapshot;
+    }
 }
@@ -29,6 +29,7 @@
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.util.PositionOutOfBoundsException;
 import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.extent.worker.BlockVolumeWorker;
 import org.spongepowered.api.world.schematic.BlockPalette;
 import org.spongepowered.common.util.VecHelper;
 
@@ -64,6 +65,15 @@ protected int getIndex(int x, int y, int z) {
     
     public abstract BlockPalette getPalette();
 
+    /**
+     * Gets a worker for this buffer that runs the callbacks of map, merge
+     * and reduce on multiple threads. Only use this if the callbacks don't
+     * rely on running in order on one thread.
+     *
+     * @return The parallel block worker
+     */
+    public abstract BlockVolumeWorker<? extends BlockVolume> getParallelBlockWorker();
+
     @Override
     public Vector3i getBlockMax() {
         return this.end;
@@ -102,6 +102,11 @@ public BlockVolumeWorker<? extends ImmutableBlockVolume> getBlockWorker() {
         return new SpongeBlockVolumeWorker<>(this);
     }
 
+    @Override
+    public BlockVolumeWorker<? extends ImmutableBlockVolume> getParallelBlockWorker() {
+        return new SpongeBlockVolumeWorker<>(this, true);
+    }
+
     @Override
     public MutableBlockVolume getBlockCopy(StorageType type) {
         switch (type) {
@@ -99,6 +99,11 @@ public MutableBlockVolumeWorker<? extends MutableBlockVolume> getBlockWorker() {
         return new SpongeMutableBlockVolumeWorker<>(this);
     }
 
+    @Override
+    public MutableBlockVolumeWorker<? extends MutableBlockVolume> getParallelBlockWorker() {
+        return new SpongeMutableBlockVolumeWorker<>(this, true);
+    }
+
     @Override
     public UnmodifiableBlockVolume getUnmodifiableBlockView() {
         return new UnmodifiableBlockVolumeWrapper(this);
@@ -25,7 +25,6 @@
 package org.spongepowered.common.world;
 
 
-import com.google.common.collect.ImmutableList;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.data.Transaction;
 import org.spongepowered.api.event.SpongeEventFactory;
@@ -33,13 +32,15 @@
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.common.config.category.LoggingCategory;
 
+import java.util.List;
+
 import javax.annotation.Nullable;
 
 public enum BlockChange {
 
     BREAK("BreakEvent") {
         @Override
-        public ChangeBlockEvent createEvent(Cause cause, ImmutableList<Transaction<BlockSnapshot>> transactions) {
+        public ChangeBlockEvent createEvent(Cause cause, List<Transaction<BlockSnapshot>> transactions) {
             return SpongeEventFactory.createChangeBlockEventBreak(cause, transactions);
         }
 
@@ -56,13 +57,13 @@ public boolean allowsLogging(LoggingCategory category) {
     DECAY() {
         @Nullable
         @Override
-        public ChangeBlockEvent createEvent(Cause cause, ImmutableList<Transaction<BlockSnapshot>> transactions) {
+        public ChangeBlockEvent createEvent(Cause cause, List<Transaction<BlockSnapshot>> transactions) {
             return SpongeEventFactory.createChangeBlockEventDecay(cause, transactions);
         }
     },
     MODIFY("ModifyEvent") {
         @Override
-        public ChangeBlockEvent createEvent(Cause cause, ImmutableList<Transaction<BlockSnapshot>> transactions) {
+        public ChangeBlockEvent createEvent(Cause cause, List<Transaction<BlockSnapshot>> transactions) {
             return SpongeEventFactory.createChangeBlockEventModify(cause, transactions);
         }
 
@@ -78,7 +79,7 @@ public boolean allowsLogging(LoggingCategory category) {
     },
     PLACE("PlaceEvent") {
         @Override
-        public ChangeBlockEvent createEvent(Cause cause, ImmutableList<Transaction<BlockSnapshot>> transactions) {
+        public ChangeBlockEvent createEvent(Cause cause, List<Transaction<BlockSnapshot>> transactions) {
             return SpongeEventFactory.createChangeBlockEventPlace(cause, transactions);
         }
 
@@ -126,7 +127,7 @@ public boolean allowsLogging(LoggingCategory category) {
     }
 
     @Nullable
-    public ChangeBlockEvent createEvent(Cause cause, ImmutableList<Transaction<BlockSnapshot>> transactions) {
+    public ChangeBlockEvent createEvent(Cause cause, List<Transaction<BlockSnapshot>> transactions) {
         return null;
     }
 
@@ -0,0 +1,453 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+/**
+ * Stores the owner and notifier of player tracked blocks within a chunk.
+ *
+ * <p>Positions are grouped by 16x16x16 section. Each section keeps a palette
+ * of distinct owner/notifier index pairs and maps the 4096 positions of the
+ * section to a palette entry, so lookups never box a key or allocate. Sparse
+ * sections keep their positions in a sorted array and switch to a flat array
+ * once they hold enough tracked blocks.</p>
+ *
+ * <p>Owner and notifier values are the unique id indexes of the world, with
+ * {@link #UNSET} meaning that no user is tracked.</p>
+ */
+public final class ChunkPlayerTracker {
+
+    public static final int UNSET = -1;
+
+    private static final String TRACKED_SECTIONS = "TrackedSections";
+    private static final String SECTION_Y = "Y";
+    private static final String SECTION_PALETTE = "Palette";
+    private static final String SECTION_BLOCKS = "Blocks";
+
+    private static final int SECTION_COUNT = 16;
+    private static final int SECTION_VOLUME = 16 * 16 * 16;
+    // A flat section costs two bytes per position, the sparse form four bytes per tracked position
+    private static final int DENSE_THRESHOLD = SECTION_VOLUME / 4;
+    private static final int MAX_PALETTE_SIZE = 0xFFFF;
+
+    // Legacy position encoding, see readLegacyPositions
+    private static final int XZ_MASK = 0xF;
+    private static final int Y_SHIFT = 4;
+    private static final int LEGACY_SHORT_Y_MASK = 0xFF;
+    private static final int LEGACY_SHORT_Z_SHIFT = 12;
+    private static final int LEGACY_INT_Y_MASK = 0xFFFFFF;
+    private static final int LEGACY_INT_Z_SHIFT = 28;
+
+    private final Section[] sections = new Section[SECTION_COUNT];
+    // Sections outside of the vanilla build height
+    @Nullable private Int2ObjectMap<Section> extraSections;
+
+    /**
+     * Gets the owner index of the block at the given chunk relative position.
+     *
+     * @param x The x position within the chunk
+     * @param y The y position
+     * @param z The z position within the chunk
+     * @return The owner index, or {@link #UNSET}
+     */
+    public int getOwner(int x, int y, int z) {
+        final Section section = getSection(y >> 4, false);
+        if (section == null) {
+            return UNSET;
+        }
+        final int id = section.get(index(x, y, z));
+        return id == 0 ? UNSET : section.owners[id - 1];
+    }
+
+    /**
+     * Gets the notifier index of the block at the given chunk relative
+     * position.
+     *
+     * @param x The x position within the chunk
+     * @param y The y position
+     * @param z The z position within the chunk
+     * @return The notifier index, or {@link #UNSET}
+     */
+    public int getNotifier(int x, int y, int z) {
+        final Section section = getSection(y >> 4, false);
+        if (section == null) {
+            return UNSET;
+        }
+        final int id = section.get(index(x, y, z));
+        return id == 0 ? UNSET : section.notifiers[id - 1];
+    }
+
+    public boolean isTracked(int x, int y, int z) {
+        final Section section = getSection(y >> 4, false);
+        return section != null && section.get(index(x, y, z)) != 0;
+    }
+
+    public void setOwner(int x, int y, int z, int ownerIndex) {
+        set(x, y, z, ownerIndex, getNotifier(x, y, z));
+    }
+
+    public void setNotifier(int x, int y, int z, int notifierIndex) {
+        set(x, y, z, getOwner(x, y, z), notifierIndex);
+    }
+
+    /**
+     * Sets both the owner and notifier of the block at the given chunk
+     * relative position. The position is no longer tracked if both are
+     * {@link #UNSET}.
+     *
+     * @param x The x position within the chunk
+     * @param y The y position
+     * @param z The z position within the chunk
+     * @param ownerIndex The owner index
+     * @param notifierIndex The notifier index
+     */
+    public void set(int x, int y, int z, int ownerIndex, int notifierIndex) {
+        if (ownerIndex == UNSET && notifierIndex == UNSET) {
+            remove(x, y, z);
+            return;
+        }
+        final Section section = getSection(y >> 4, true);
+        section.set(index(x, y, z), section.getPaletteId(ownerIndex, notifierIndex));
+    }
+
+    public void remove(int x, int y, int z) {
+        final int sectionY = y >> 4;
+        final Section section = getSection(sectionY, false);
+        if (section == null) {
+            return;
+        }
+        section.set(index(x, y, z), 0);
+        if (section.size == 0) {
+            if (sectionY >= 0 && sectionY < SECTION_COUNT) {
+                this.sections[sectionY] = null;
+            } else if (this.extraSections != null) {
+                this.extraSections.remove(sectionY);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        for (Section section : this.sections) {
+            if (section != null) {
+                return false;
+            }
+        }
+        return this.extraSections == null || this.extraSections.isEmpty();
+    }
+
+    /**
+     * Gets the amount of tracked block positions.
+     *
+     * @return The amount of tracked positions
+     */
+    public int size() {
+        int size = 0;
+        for (Section section : this.sections) {
+            if (section != null) {
+                size += section.size;
+            }
+        }
+        if (this.extraSections != null) {
+            for (Section section : this.extraSections.values()) {
+                size += section.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Writes the tracked positions to the given sponge data compound. Each
+     * section is written as its palette and one packed int per tracked
+     * position.
+     *
+     * @param compound The sponge data compound
+     */
+    public void writeToNBT(NBTTagCompound compound) {
+        final NBTTagList list = new NBTTagList();
+        for (Section section : this.sections) {
+            if (section != null) {
+                list.appendTag(section.writeToNBT());
+            }
+        }
+        if (this.extraSections != null) {
+            for (Section section : this.extraSections.values()) {
+                list.appendTag(section.writeToNBT());
+            }
+        }
+        compound.setTag(TRACKED_SECTIONS, list);
+    }
+
+    /**
+     * Reads the tracked positions from the given sponge data compound,
+     * including the per position entries written by older versions.
+     *
+     * @param compound The sponge data compound
+     */
+    public void readFromNBT(NBTTagCompound compound) {
+        final NBTTagList list = compound.getTagList(TRACKED_SECTIONS, NbtDataUtil.TAG_COMPOUND);
+        for (int i = 0; i < list.tagCount(); i++) {
+            final NBTTagCompound sectionNbt = list.getCompoundTagAt(i);
+            final int sectionY = sectionNbt.getInteger(SECTION_Y);
+            final int[] palette = sectionNbt.getIntArray(SECTION_PALETTE);
+            final int[] blocks = sectionNbt.getIntArray(SECTION_BLOCKS);
+            for (int block : blocks) {
+                final int id = block & 0xFFFF;
+                if (id == 0 || id * 2 > palette.length) {
+                    continue;
+                }
+                final int index = block >>> 16;
+                set(index & XZ_MASK, (sectionY << 4) | (index >> 8), (index >> 4) & XZ_MASK, palette[(id - 1) * 2], palette[(id - 1) * 2 + 1]);
+            }
+        }
+        readLegacyPositions(compound.getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, NbtDataUtil.TAG_COMPOUND));
+    }
+
+    private void readLegacyPositions(NBTTagList positions) {
+        for (int i = 0; i < positions.tagCount(); i++) {
+            final NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
+            int ownerIndex = UNSET;
+            int notifierIndex = UNSET;
+            if (valueNbt.hasKey("owner")) {
+                ownerIndex = valueNbt.getInteger("owner");
+            } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
+                ownerIndex = valueNbt.getInteger("uuid");
+            }
+            if (valueNbt.hasKey("notifier")) {
+                notifierIndex = valueNbt.getInteger("notifier");
+            }
+            if (valueNbt.hasKey("pos")) {
+                final short pos = valueNbt.getShort("pos");
+                set(pos & XZ_MASK, (pos >> Y_SHIFT) & LEGACY_SHORT_Y_MASK, (pos >> LEGACY_SHORT_Z_SHIFT) & XZ_MASK, ownerIndex, notifierIndex);
+            } else {
+                final int pos = valueNbt.getInteger("ipos");
+                set(pos & XZ_MASK, (pos >> Y_SHIFT) & LEGACY_INT_Y_MASK, (pos >> LEGACY_INT_Z_SHIFT) & XZ_MASK, ownerIndex, notifierIndex);
+            }
+        }
+    }
+
+    @Nullable
+    private Section getSection(int sectionY, boolean create) {
+        if (sectionY >= 0 && sectionY < SECTION_COUNT) {
+            Section section = this.sections[sectionY];
+            if (section == null && create) {
+                section = this.sections[sectionY] = new Section(sectionY);
+            }
+            return section;
+        }
+        if (this.extraSections == null) {
+            if (!create) {
+                return null;
+            }
+            this.extraSections = new Int2ObjectOpenHashMap<>();
+        }
+        Section section = this.extraSections.get(sectionY);
+        if (section == null && create) {
+            section = new Section(sectionY);
+            this.extraSections.put(sectionY, section);
+        }
+        return section;
+    }
+
+    private static int index(int x, int y, int z) {
+        return (y & 0xF) << 8 | (z & 0xF) << 4 | (x & 0xF);
+    }
+
+    private static long paletteKey(int ownerIndex, int notifierIndex) {
+        return ((long) ownerIndex << 32) | (notifierIndex & 0xFFFFFFFFL);
+    }
+
+    private static final class Section {
+
+        final int y;
+        // Palette entries, referenced by id - 1 so that id 0 means untracked
+        int[] owners = new int[4];
+        int[] notifiers = new int[4];
+        int paletteSize;
+        final Long2IntOpenHashMap paletteLookup = new Long2IntOpenHashMap(4);
+
+        // Sparse form, position indexes kept sorted
+        @Nullable short[] keys = new short[8];
+        @Nullable char[] values = new char[8];
+        // Flat form, used once the section holds more than DENSE_THRESHOLD positions
+        @Nullable char[] dense;
+        int size;
+
+        Section(int y) {
+            this.y = y;
+            this.paletteLookup.defaultReturnValue(0);
+        }
+
+        int get(int index) {
+            if (this.dense != null) {
+                return this.dense[index];
+            }
+            final int slot = Arrays.binarySearch(this.keys, 0, this.size, (short) index);
+            return slot < 0 ? 0 : this.values[slot];
+        }
+
+        void set(int index, int id) {
+            if (this.dense != null) {
+                final char previous = this.dense[index];
+                if (previous == 0 && id != 0) {
+                    this.size++;
+                } else if (previous != 0 && id == 0) {
+                    this.size--;
+                }
+                this.dense[index] = (char) id;
+                return;
+            }
+            final int slot = Arrays.binarySearch(this.keys, 0, this.size, (short) index);
+            if (slot >= 0) {
+                if (id != 0) {
+                    this.values[slot] = (char) id;
+                } else {
+                    System.arraycopy(this.keys, slot + 1, this.keys, slot, this.size - slot - 1);
+                    System.arraycopy(this.values, slot + 1, this.values, slot, this.size - slot - 1);
+                    this.size--;
+                }
+                return;
+            }
+            if (id == 0) {
+                return;
+            }
+            if (this.size == DENSE_THRESHOLD) {
+                this.dense = new char[SECTION_VOLUME];
+                for (int i = 0; i < this.size; i++) {
+                    this.dense[this.keys[i]] = this.values[i];
+                }
+                this.keys = null;
+                this.values = null;
+                this.dense[index] = (char) id;
+                this.size++;
+                return;
+            }
+            final int insert = -slot - 1;
+            if (this.size == this.keys.length) {
+                this.keys = Arrays.copyOf(this.keys, this.size * 2);
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            System.arraycopy(this.keys, insert, this.keys, insert + 1, this.size - insert);
+            System.arraycopy(this.values, insert, this.values, insert + 1, this.size - insert);
+            this.keys[insert] = (short) index;
+            this.values[insert] = (char) id;
+            this.size++;
+        }
+
+        int getPaletteId(int ownerIndex, int notifierIndex) {
+            final long key = paletteKey(ownerIndex, notifierIndex);
+            int id = this.paletteLookup.get(key);
+            if (id != 0) {
+                return id;
+            }
+            if (this.paletteSize == MAX_PALETTE_SIZE) {
+                compactPalette();
+            }
+            if (this.paletteSize == this.owners.length) {
+                this.owners = Arrays.copyOf(this.owners, this.paletteSize * 2);
+                this.notifiers = Arrays.copyOf(this.notifiers, this.paletteSize * 2);
+            }
+            this.owners[this.paletteSize] = ownerIndex;
+            this.notifiers[this.paletteSize] = notifierIndex;
+            id = ++this.paletteSize;
+            this.paletteLookup.put(key, id);
+            return id;
+        }
+
+        /**
+         * Drops palette entries that are no longer referenced by any position.
+         */
+        void compactPalette() {
+            final int[] remap = new int[this.paletteSize + 1];
+            if (this.dense != null) {
+                for (char id : this.dense) {
+                    remap[id] = 1;
+                }
+            } else {
+                for (int i = 0; i < this.size; i++) {
+                    remap[this.values[i]] = 1;
+                }
+            }
+            int newSize = 0;
+            this.paletteLookup.clear();
+            for (int id = 1; id <= this.paletteSize; id++) {
+                if (remap[id] == 0) {
+                    continue;
+                }
+                this.owners[newSize] = this.owners[id - 1];
+                this.notifiers[newSize] = this.notifiers[id - 1];
+                remap[id] = ++newSize;
+                this.paletteLookup.put(paletteKey(this.owners[newSize - 1], this.notifiers[newSize - 1]), newSize);
+            }
+            remap[0] = 0;
+            this.paletteSize = newSize;
+            if (this.dense != null) {
+                for (int i = 0; i < SECTION_VOLUME; i++) {
+                    this.dense[i] = (char) remap[this.dense[i]];
+                }
+            } else {
+                for (int i = 0; i < this.size; i++) {
+                    this.values[i] = (char) remap[this.values[i]];
+                }
+            }
+        }
+
+        NBTTagCompound writeToNBT() {
+            compactPalette();
+            final int[] palette = new int[this.paletteSize * 2];
+            for (int i = 0; i < this.paletteSize; i++) {
+                palette[i * 2] = this.owners[i];
+                palette[i * 2 + 1] = this.notifiers[i];
+            }
+            final int[] blocks = new int[this.size];
+            if (this.dense != null) {
+                int slot = 0;
+                for (int i = 0; i < SECTION_VOLUME; i++) {
+                    if (this.dense[i] != 0) {
+                        blocks[slot++] = i << 16 | this.dense[i];
+                    }
+                }
+            } else {
+                for (int i = 0; i < this.size; i++) {
+                    blocks[i] = (this.keys[i] & 0xFFFF) << 16 | this.values[i];
+                }
+            }
+            final NBTTagCompound compound = new NBTTagCompound();
+            compound.setInteger(SECTION_Y, this.y);
+            compound.setIntArray(SECTION_PALETTE, palette);
+            compound.setIntArray(SECTION_BLOCKS, blocks);
+            return compound;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EnumSkyBlock;
+
+/**
+ * Queues the pending async light updates of a chunk.
+ *
+ * <p>Updates are packed into ints and batched per 16x16x16 section so that a
+ * single task can work through all queued updates of a chunk, one section at
+ * a time. A position stays marked as queued until its update completes, so
+ * the same update is never queued twice.</p>
+ */
+public final class LightUpdateQueue {
+
+    /**
+     * Returned by {@link #offer} if the update was already queued.
+     */
+    public static final int REJECTED = 0;
+    /**
+     * Returned by {@link #offer} if the update was queued to a batch that is
+     * already scheduled.
+     */
+    public static final int QUEUED = 1;
+    /**
+     * Returned by {@link #offer} if the update was queued and the batch of
+     * this chunk needs to be scheduled by the caller.
+     */
+    public static final int SCHEDULE = 2;
+    /**
+     * Returned by {@link #poll} if no updates are queued.
+     */
+    public static final int EMPTY = -1;
+
+    private static final int SECTION_COUNT = 16;
+    private static final int SKY_BIT = 1 << 16;
+    // One bit per position and light type within a section
+    private static final int SECTION_FLAG_WORDS = (2 * 16 * 16 * 16) / Long.SIZE;
+
+    private final IntArrayFIFOQueue[] sections = new IntArrayFIFOQueue[SECTION_COUNT];
+    private final long[][] queued = new long[SECTION_COUNT][];
+    private int size;
+    private boolean scheduled;
+
+    /**
+     * Queues a light update for the given position.
+     *
+     * @param type The light type
+     * @param pos The block position
+     * @return {@link #REJECTED}, {@link #QUEUED} or {@link #SCHEDULE}
+     */
+    public synchronized int offer(EnumSkyBlock type, BlockPos pos) {
+        final int y = pos.getY();
+        if (y < 0 || y >= SECTION_COUNT << 4) {
+            return REJECTED;
+        }
+        final int update = pack(type, pos);
+        final int section = y >> 4;
+        long[] flags = this.queued[section];
+        if (flags == null) {
+            flags = this.queued[section] = new long[SECTION_FLAG_WORDS];
+        }
+        final int bit = flagIndex(update);
+        if ((flags[bit >>> 6] & (1L << bit)) != 0) {
+            return REJECTED;
+        }
+        flags[bit >>> 6] |= 1L << bit;
+        IntArrayFIFOQueue queue = this.sections[section];
+        if (queue == null) {
+            queue = this.sections[section] = new IntArrayFIFOQueue();
+        }
+        queue.enqueue(update);
+        this.size++;
+        if (this.scheduled) {
+            return QUEUED;
+        }
+        this.scheduled = true;
+        return SCHEDULE;
+    }
+
+    /**
+     * Takes the next update to process, starting with the lowest section
+     * that has queued updates.
+     *
+     * @return The packed update, or {@link #EMPTY}
+     */
+    public synchronized int poll() {
+        for (IntArrayFIFOQueue queue : this.sections) {
+            if (queue != null && !queue.isEmpty()) {
+                this.size--;
+                return queue.dequeueInt();
+            }
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Marks the given update as processed, allowing it to be queued again.
+     *
+     * @param update The packed update
+     */
+    public synchronized void complete(int update) {
+        final long[] flags = this.queued[getY(update) >> 4];
+        final int bit = flagIndex(update);
+        flags[bit >>> 6] &= ~(1L << bit);
+    }
+
+    /**
+     * Ends the current batch if no more updates are queued.
+     *
+     * @return True if the batch ended, false if updates are still queued
+     */
+    public synchronized boolean finishBatch() {
+        if (this.size > 0) {
+            return false;
+        }
+        this.scheduled = false;
+        return true;
+    }
+
+    public synchronized boolean isQueued(EnumSkyBlock type, BlockPos pos) {
+        final int y = pos.getY();
+        if (y < 0 || y >= SECTION_COUNT << 4) {
+            return false;
+        }
+        final long[] flags = this.queued[y >> 4];
+        final int bit = flagIndex(pack(type, pos));
+        return flags != null && (flags[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    public synchronized int size() {
+        return this.size;
+    }
+
+    public static EnumSkyBlock getType(int update) {
+        return (update & SKY_BIT) != 0 ? EnumSkyBlock.SKY : EnumSkyBlock.BLOCK;
+    }
+
+    public static BlockPos getPos(int chunkX, int chunkZ, int update) {
+        return new BlockPos(chunkX << 4 | (update & 15), getY(update), chunkZ << 4 | (update >> 4 & 15));
+    }
+
+    private static int getY(int update) {
+        return update >> 8 & 255;
+    }
+
+    private static int pack(EnumSkyBlock type, BlockPos pos) {
+        return (type == EnumSkyBlock.SKY ? SKY_BIT : 0) | (pos.getY() & 255) << 8 | (pos.getZ() & 15) << 4 | (pos.getX() & 15);
+    }
+
+    private static int flagIndex(int update) {
+        // Position within the section, with the light type as the highest bit
+        return (update & SKY_BIT) >> 4 | (update & 0xF00) | (update & 0xFF);
+    }
+}
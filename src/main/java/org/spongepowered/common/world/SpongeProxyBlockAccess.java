@@ -24,7 +24,6 @@
  */
 package org.spongepowered.common.world;
 
-import com.google.common.collect.ImmutableList;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
@@ -33,30 +32,38 @@
 import net.minecraft.world.WorldServer;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.data.Transaction;
-import org.spongepowered.common.interfaces.world.IMixinLocation;
+import org.spongepowered.common.event.tracking.BlockTransactionBuffer;
 
 import java.util.LinkedHashMap;
 import java.util.List;
 
 public final class SpongeProxyBlockAccess implements IBlockAccess {
 
-    private final List<Transaction<BlockSnapshot>> transactions;
-    private final List<BlockPos> poses;
+    private final BlockTransactionBuffer buffer;
     private final LinkedHashMap<BlockPos, IBlockState> processed = new LinkedHashMap<>();
     private int index;
     private WorldServer processingWorld;
 
     public SpongeProxyBlockAccess(List<Transaction<BlockSnapshot>> snapshotTransaction) {
-        this.transactions = snapshotTransaction;
-        this.poses = this.transactions.stream()
-            .map(transaction -> ((IMixinLocation) (Object) transaction.getOriginal().getLocation().get()).getBlockPos())
-            .collect(ImmutableList.toImmutableList());
+        this(BlockTransactionBuffer.ofTransactions(snapshotTransaction));
+    }
+
+    public SpongeProxyBlockAccess(BlockTransactionBuffer buffer) {
+        this.buffer = buffer;
         this.index = 0;
-        this.processingWorld = ((WorldServer) snapshotTransaction.get(0).getOriginal().getLocation().get().getExtent());
+        this.processingWorld = buffer.getWorld(0);
     }
 
     public void proceed() {
-        this.processed.put(this.poses.get(this.index), ((IBlockState) this.transactions.get(this.index).getFinal().getState()));
+        this.processed.put(this.buffer.getPos(this.index), this.buffer.getFinalState(this.index));
+        this.index++;
+    }
+
+    /**
+     * Moves on to the next change without applying the current one, such as
+     * when it was invalidated.
+     */
+    public void skip() {
         this.index++;
     }
 
@@ -70,12 +77,8 @@ public IBlockState getBlockState(BlockPos pos) {
         if (this.processed.containsKey(pos)) { // first just check if there's already a pos list built.
             return this.processed.get(pos);
         }
-        Transaction<BlockSnapshot> unknown = this.transactions.get(this.index);
-        if (unknown != null) {
-            final BlockPos actualPos = this.poses.get(this.index);
-            if (pos.equals(actualPos)) {
-                return (IBlockState) unknown.getFinal().getState();
-            }
+        if (this.index < this.buffer.size() && pos.equals(this.buffer.getPos(this.index))) {
+            return this.buffer.getFinalState(this.index);
         }
 
         return this.processingWorld.getBlockState(pos);
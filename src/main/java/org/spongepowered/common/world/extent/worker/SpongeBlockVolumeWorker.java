@@ -40,7 +40,18 @@
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeVisitor;
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.util.gen.AbstractBlockBuffer;
+import org.spongepowered.common.world.extent.AbstractBlockViewDownsize;
+import org.spongepowered.common.world.extent.AbstractBlockViewTransform;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 
 /**
@@ -48,10 +59,23 @@
  */
 public class SpongeBlockVolumeWorker<V extends BlockVolume> implements BlockVolumeWorker<V> {
 
+    private static final int TILE_SIZE = 16;
+
     protected final V volume;
+    private final boolean parallel;
 
     public SpongeBlockVolumeWorker(V volume) {
+        this(volume, false);
+    }
+
+    /**
+     * Creates a new worker. If parallel is true, the callbacks of map, merge
+     * and reduce on block buffers run on the block worker pool, one tile at
+     * a time, so they must not rely on running in order on one thread.
+     */
+    public SpongeBlockVolumeWorker(V volume, boolean parallel) {
         this.volume = volume;
+        this.parallel = parallel;
     }
 
     @Override
@@ -76,6 +100,11 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
         try (BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)
             .buildAndSwitch()) {
+            if (this.parallel && canRunParallel(this.volume) && isSeparate(destination, this.volume)) {
+                mapTilesParallel(unmodifiableVolume.getBlockMin(), unmodifiableVolume.getBlockMax(), (x, y, z) ->
+                    mapper.map(unmodifiableVolume, x, y, z), destination, offset);
+                return;
+            }
             for (int z = zMin; z <= zMax; z++) {
                 for (int y = yMin; y <= yMax; y++) {
                     for (int x = xMin; x <= xMax; x++) {
@@ -109,6 +138,12 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
         try (BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)
             .buildAndSwitch()) {
+            if (this.parallel && canRunParallel(this.volume) && canRunParallel(second) && isSeparate(destination, this.volume, second)) {
+                mapTilesParallel(firstUnmodifiableVolume.getBlockMin(), firstUnmodifiableVolume.getBlockMax(), (x, y, z) ->
+                    merger.merge(firstUnmodifiableVolume, x, y, z, secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond),
+                    destination, offsetDestination);
+                return;
+            }
             for (int z = zMin; z <= zMax; z++) {
                 for (int y = yMin; y <= yMax; y++) {
                     for (int x = xMin; x <= xMax; x++) {
@@ -152,6 +187,29 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
+        if (this.parallel && canRunParallel(this.volume)) {
+            // Every tile is reduced on its own, starting from the identity,
+            // and the tile reductions are merged in order
+            final List<CompletableFuture<T>> tileReductions = new ArrayList<>();
+            for (int[] tile : createTiles(unmodifiableVolume.getBlockMin(), unmodifiableVolume.getBlockMax())) {
+                tileReductions.add(CompletableFuture.supplyAsync(() -> {
+                    T tileReduction = identity;
+                    for (int z = tile[2]; z <= tile[5]; z++) {
+                        for (int y = tile[1]; y <= tile[4]; y++) {
+                            for (int x = tile[0]; x <= tile[3]; x++) {
+                                tileReduction = reducer.reduce(unmodifiableVolume, x, y, z, tileReduction);
+                            }
+                        }
+                    }
+                    return tileReduction;
+                }, WorkerPool.INSTANCE));
+            }
+            T reduction = identity;
+            for (CompletableFuture<T> tileReduction : tileReductions) {
+                reduction = merge.apply(reduction, join(tileReduction));
+            }
+            return reduction;
+        }
         T reduction = identity;
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
@@ -163,6 +221,136 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         return reduction;
     }
 
+    /**
+     * Checks if the callbacks for the given volume may run on multiple
+     * threads. Only block buffers are read in parallel, they can't be
+     * changed by the game while the worker runs.
+     */
+    private static boolean canRunParallel(BlockVolume volume) {
+        if (!(volume instanceof AbstractBlockBuffer)) {
+            return false;
+        }
+        final Vector3i size = volume.getBlockSize();
+        final long blocks = (long) size.getX() * size.getY() * size.getZ();
+        return blocks > TILE_SIZE * TILE_SIZE * TILE_SIZE && blocks <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Checks if the destination can be written while the given sources are
+     * read on other threads. Views may be backed by one of the sources, so
+     * they are never considered separate.
+     */
+    private static boolean isSeparate(MutableBlockVolume destination, BlockVolume... sources) {
+        if (destination instanceof AbstractBlockViewDownsize || destination instanceof AbstractBlockViewTransform) {
+            return false;
+        }
+        for (BlockVolume source : sources) {
+            if (destination == source) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits the given bounds into tiles aligned to the chunk sections of
+     * the volume coordinates.
+     *
+     * @return The tiles, as min x, y, z and max x, y, z
+     */
+    private static List<int[]> createTiles(Vector3i min, Vector3i max) {
+        final List<int[]> tiles = new ArrayList<>();
+        for (int z = min.getZ(); z <= max.getZ(); z = (z & -TILE_SIZE) + TILE_SIZE) {
+            for (int y = min.getY(); y <= max.getY(); y = (y & -TILE_SIZE) + TILE_SIZE) {
+                for (int x = min.getX(); x <= max.getX(); x = (x & -TILE_SIZE) + TILE_SIZE) {
+                    tiles.add(new int[] {x, y, z,
+                        Math.min((x & -TILE_SIZE) + TILE_SIZE - 1, max.getX()),
+                        Math.min((y & -TILE_SIZE) + TILE_SIZE - 1, max.getY()),
+                        Math.min((z & -TILE_SIZE) + TILE_SIZE - 1, max.getZ())});
+                }
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Computes the blocks of the tiles on the block worker pool and writes
+     * every tile to the destination on the calling thread, in order. Only a
+     * few tiles per thread are computed ahead of the written ones.
+     */
+    private static void mapTilesParallel(Vector3i min, Vector3i max, BlockFunction function, MutableBlockVolume destination, Vector3i offset) {
+        final List<int[]> tiles = createTiles(min, max);
+        final int window = WorkerPool.INSTANCE.getParallelism() * 2;
+        final ArrayDeque<CompletableFuture<BlockState[]>> pending = new ArrayDeque<>();
+        int submitted = 0;
+        for (int[] tile : tiles) {
+            while (submitted < tiles.size() && pending.size() < window) {
+                final int[] next = tiles.get(submitted++);
+                pending.add(CompletableFuture.supplyAsync(() -> computeTile(next, function), WorkerPool.INSTANCE));
+            }
+            final BlockState[] blocks = join(pending.poll());
+            int index = 0;
+            for (int z = tile[2]; z <= tile[5]; z++) {
+                for (int y = tile[1]; y <= tile[4]; y++) {
+                    for (int x = tile[0]; x <= tile[3]; x++) {
+                        destination.setBlock(x + offset.getX(), y + offset.getY(), z + offset.getZ(), blocks[index++]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static BlockState[] computeTile(int[] tile, BlockFunction function) {
+        final BlockState[] blocks = new BlockState[(tile[3] - tile[0] + 1) * (tile[4] - tile[1] + 1) * (tile[5] - tile[2] + 1)];
+        int index = 0;
+        for (int z = tile[2]; z <= tile[5]; z++) {
+            for (int y = tile[1]; y <= tile[4]; y++) {
+                for (int x = tile[0]; x <= tile[3]; x++) {
+                    blocks[index++] = function.apply(x, y, z);
+                }
+            }
+        }
+        return blocks;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The pool running the callbacks of parallel workers, kept apart from
+     * the common pool and created on first use.
+     */
+    private static final class WorkerPool {
+
+        static final ForkJoinPool INSTANCE = create();
+
+        private static ForkJoinPool create() {
+            final AtomicInteger threadCount = new AtomicInteger();
+            return new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                    pool -> {
+                        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                        thread.setName("Sponge - Block Volume Worker Thread - " + threadCount.getAndIncrement());
+                        return thread;
+                    },
+                    null,
+                    false);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BlockFunction {
+
+        BlockState apply(int x, int y, int z);
+    }
+
     private Vector3i align(BlockVolume other) {
         final Vector3i thisSize = this.volume.getBlockSize();
         final Vector3i otherSize = other.getBlockSize();
@@ -39,6 +39,10 @@ public SpongeMutableBlockVolumeWorker(V volume) {
         super(volume);
     }
 
+    public SpongeMutableBlockVolumeWorker(V volume, boolean parallel) {
+        super(volume, parallel);
+    }
+
     @Override
     public void fill(BlockVolumeFiller filler) {
         final int xMin = this.volume.getBlockMin().getX();
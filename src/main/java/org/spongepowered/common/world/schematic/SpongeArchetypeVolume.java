@@ -75,6 +75,11 @@ public MutableBlockVolumeWorker<? extends ArchetypeVolume> getBlockWorker() {
         return new SpongeMutableBlockVolumeWorker<>(this);
     }
 
+    @Override
+    public MutableBlockVolumeWorker<? extends ArchetypeVolume> getParallelBlockWorker() {
+        return new SpongeMutableBlockVolumeWorker<>(this, true);
+    }
+
     @Override
     public void apply(Location<World> location, BlockChangeFlag changeFlag) {
         this.backing.getBlockWorker().iterate((v, x, y, z) -> {
@@ -0,0 +1,206 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.block.Block;
+import net.minecraft.entity.Entity;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.NextTickListEntry;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.spongepowered.common.interfaces.IMixinChunk;
+import org.spongepowered.common.interfaces.world.IMixinBlockStateContainer;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * The state of a chunk that is about to be saved, captured on the main thread
+ * so that the chunk data can be encoded on an I/O thread.
+ *
+ * <p>Entities, tile entities and scheduled block updates are live objects
+ * and are written to NBT while capturing. The block sections are only copied,
+ * their encoding is left to {@link #encode()}.</p>
+ */
+public final class ChunkSaveSnapshot {
+
+    // AnvilChunkLoader#saveChunk
+    private static final int DATA_VERSION = 1343;
+
+    private final NBTTagCompound level;
+    private final boolean hasSkyLight;
+    @Nullable private Section[] sections;
+    @Nullable private NBTTagCompound compound;
+
+    private ChunkSaveSnapshot(NBTTagCompound level, boolean hasSkyLight, Section[] sections) {
+        this.level = level;
+        this.hasSkyLight = hasSkyLight;
+        this.sections = sections;
+    }
+
+    /**
+     * Captures the chunk, mirroring AnvilChunkLoader#writeChunkToNBT. Must be
+     * called on the main thread.
+     *
+     * @param chunk The chunk to capture
+     * @param world The world of the chunk
+     * @return The snapshot
+     */
+    public static ChunkSaveSnapshot capture(Chunk chunk, World world) {
+        final NBTTagCompound level = new NBTTagCompound();
+        level.setInteger("xPos", chunk.x);
+        level.setInteger("zPos", chunk.z);
+        level.setLong("LastUpdate", world.getTotalWorldTime());
+        level.setIntArray("HeightMap", chunk.getHeightMap().clone());
+        level.setBoolean("TerrainPopulated", chunk.isTerrainPopulated());
+        level.setBoolean("LightPopulated", chunk.isLightPopulated());
+        level.setLong("InhabitedTime", chunk.getInhabitedTime());
+
+        final boolean hasSkyLight = world.provider.hasSkyLight();
+        final ExtendedBlockStorage[] storageArray = chunk.getBlockStorageArray();
+        int sectionCount = 0;
+        final Section[] sections = new Section[storageArray.length];
+        for (ExtendedBlockStorage storage : storageArray) {
+            if (storage != Chunk.NULL_BLOCK_STORAGE) {
+                sections[sectionCount++] = new Section(storage, hasSkyLight);
+            }
+        }
+
+        level.setByteArray("Biomes", chunk.getBiomeArray().clone());
+        chunk.setHasEntities(false);
+        final NBTTagList entities = new NBTTagList();
+        for (int i = 0; i < chunk.getEntityLists().length; ++i) {
+            for (Entity entity : chunk.getEntityLists()[i]) {
+                final NBTTagCompound entityCompound = new NBTTagCompound();
+                if (entity.writeToNBTOptional(entityCompound)) {
+                    chunk.setHasEntities(true);
+                    entities.appendTag(entityCompound);
+                }
+            }
+        }
+        level.setTag("Entities", entities);
+
+        final NBTTagList tileEntities = new NBTTagList();
+        for (TileEntity tileEntity : chunk.getTileEntityMap().values()) {
+            tileEntities.appendTag(tileEntity.writeToNBT(new NBTTagCompound()));
+        }
+        level.setTag("TileEntities", tileEntities);
+
+        final List<NextTickListEntry> pendingUpdates = world.getPendingBlockUpdates(chunk, false);
+        if (pendingUpdates != null) {
+            final long totalWorldTime = world.getTotalWorldTime();
+            final NBTTagList tileTicks = new NBTTagList();
+            for (NextTickListEntry entry : pendingUpdates) {
+                final NBTTagCompound tickCompound = new NBTTagCompound();
+                final ResourceLocation location = Block.REGISTRY.getNameForObject(entry.getBlock());
+                tickCompound.setString("i", location == null ? "" : location.toString());
+                tickCompound.setInteger("x", entry.position.getX());
+                tickCompound.setInteger("y", entry.position.getY());
+                tickCompound.setInteger("z", entry.position.getZ());
+                tickCompound.setInteger("t", (int) (entry.scheduledTime - totalWorldTime));
+                tickCompound.setInteger("p", entry.priority);
+                tileTicks.appendTag(tickCompound);
+            }
+            level.setTag("TileTicks", tileTicks);
+        }
+
+        WorldStorageUtil.writeTrackedPositions((IMixinChunk) chunk, level);
+
+        final Section[] captured = new Section[sectionCount];
+        System.arraycopy(sections, 0, captured, 0, sectionCount);
+        return new ChunkSaveSnapshot(level, hasSkyLight, captured);
+    }
+
+    /**
+     * Encodes the chunk data, the result is the same compound that
+     * AnvilChunkLoader#saveChunk would have queued. Subsequent calls return
+     * the same compound.
+     *
+     * @return The chunk data
+     */
+    public synchronized NBTTagCompound encode() {
+        if (this.compound != null) {
+            return this.compound;
+        }
+        final NBTTagList sectionList = new NBTTagList();
+        for (Section section : this.sections) {
+            final NBTTagCompound sectionCompound = new NBTTagCompound();
+            sectionCompound.setByte("Y", (byte) (section.yLocation >> 4 & 255));
+            final byte[] blocks = new byte[4096];
+            final NibbleArray data = new NibbleArray();
+            final NibbleArray add = section.data.getDataForNBT(blocks, data);
+            sectionCompound.setByteArray("Blocks", blocks);
+            sectionCompound.setByteArray("Data", data.getData());
+            if (add != null) {
+                sectionCompound.setByteArray("Add", add.getData());
+            }
+            sectionCompound.setByteArray("BlockLight", section.blockLight);
+            sectionCompound.setByteArray("SkyLight", this.hasSkyLight ? section.skyLight : new byte[section.blockLight.length]);
+            sectionList.appendTag(sectionCompound);
+        }
+        this.level.setTag("Sections", sectionList);
+
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setTag("Level", this.level);
+        compound.setInteger("DataVersion", DATA_VERSION);
+        this.compound = compound;
+        // The copies are no longer needed
+        this.sections = null;
+        return compound;
+    }
+
+    /**
+     * Gets the chunk data if it was encoded already.
+     *
+     * @return The chunk data, or null
+     */
+    @Nullable
+    public synchronized NBTTagCompound getEncoded() {
+        return this.compound;
+    }
+
+    private static final class Section {
+
+        final int yLocation;
+        final BlockStateContainer data;
+        final byte[] blockLight;
+        @Nullable final byte[] skyLight;
+
+        Section(ExtendedBlockStorage storage, boolean hasSkyLight) {
+            this.yLocation = storage.getYLocation();
+            this.data = ((IMixinBlockStateContainer) storage.getData()).copy();
+            this.blockLight = storage.getBlockLight().getData().clone();
+            this.skyLight = hasSkyLight ? storage.getSkyLight().getData().clone() : null;
+        }
+    }
+
+}
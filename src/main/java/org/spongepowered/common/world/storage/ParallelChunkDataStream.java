@@ -0,0 +1,296 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.collect.Lists;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.world.storage.ChunkDataStream;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ChunkDataStream} that reads region files through memory mappings
+ * and decodes the chunks ahead of the consumer on a fork join pool.
+ *
+ * <p>At most {@code prefetch} chunks are decoded ahead of time, chunks are
+ * still returned in the same order as {@link SpongeChunkDataStream} returns
+ * them.</p>
+ */
+public class ParallelChunkDataStream implements ChunkDataStream {
+
+    // See RegionFile
+    private static final int SECTOR_BYTES = 4096;
+    private static final int CHUNKS_PER_REGION = 1024;
+    private static final byte VERSION_GZIP = 1;
+    private static final byte VERSION_DEFLATE = 2;
+
+    private final Path worldDir;
+    private final ForkJoinPool pool;
+    private final int prefetch;
+    @Nullable private final Set<String> keys;
+    private final ArrayDeque<CompletableFuture<DataContainer>> pending = new ArrayDeque<>();
+    @Nullable private List<Path> files;
+    private int fileIndex;
+    @Nullable private ByteBuffer region;
+    private int index;
+
+    /**
+     * Creates a new stream.
+     *
+     * @param worldDir The world directory
+     * @param pool The pool to decode chunks on
+     * @param prefetch The maximum amount of chunks decoded ahead of time
+     * @param keys The top level keys of the chunk level data to decode, or
+     *     null to decode everything
+     */
+    public ParallelChunkDataStream(Path worldDir, ForkJoinPool pool, int prefetch, @Nullable Set<String> keys) {
+        this.worldDir = worldDir;
+        this.pool = pool;
+        this.prefetch = Math.max(1, prefetch);
+        this.keys = keys;
+    }
+
+    private List<Path> getFiles() {
+        if (this.files == null) {
+            this.files = Lists.newArrayList(WorldStorageUtil.listRegionFiles(this.worldDir));
+        }
+        return this.files;
+    }
+
+    /**
+     * Moves to the next chunk present in the region files.
+     *
+     * @return The offset of the chunk in the current region, or -1 if there
+     *     are no more chunks
+     */
+    private int nextChunkOffset() {
+        while (true) {
+            if (this.region != null) {
+                while (this.index < CHUNKS_PER_REGION) {
+                    final int offset = this.region.getInt(this.index++ * 4);
+                    if (offset != 0) {
+                        return offset;
+                    }
+                }
+                this.region = null;
+            }
+            if (this.fileIndex >= this.getFiles().size()) {
+                return -1;
+            }
+            this.region = map(this.getFiles().get(this.fileIndex++));
+            this.index = 0;
+        }
+    }
+
+    @Nullable
+    private static ByteBuffer map(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < SECTOR_BYTES * 2) {
+                return null;
+            }
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void fill() {
+        while (this.pending.size() < this.prefetch) {
+            final int offset = this.nextChunkOffset();
+            if (offset == -1) {
+                return;
+            }
+            final ByteBuffer region = this.region;
+            this.pending.add(this.submit(region, offset));
+        }
+    }
+
+    private CompletableFuture<DataContainer> submit(ByteBuffer region, int offset) {
+        try {
+            return CompletableFuture.supplyAsync(() -> this.read(region, offset), this.pool);
+        } catch (RejectedExecutionException e) {
+            // The pool was shut down after the parallelism was changed,
+            // decode the remaining chunks on the consuming thread
+            final CompletableFuture<DataContainer> future = new CompletableFuture<>();
+            try {
+                future.complete(this.read(region, offset));
+            } catch (CompletionException ex) {
+                future.completeExceptionally(ex);
+            }
+            return future;
+        }
+    }
+
+    @Nullable
+    private DataContainer read(ByteBuffer region, int offset) {
+        // Same checks as RegionFile#getChunkDataInputStream
+        final int sectorNumber = offset >> 8;
+        final int sectorCount = offset & 255;
+        final long end = (long) (sectorNumber + sectorCount) * SECTOR_BYTES;
+        if (end > region.capacity()) {
+            return null;
+        }
+        final int position = sectorNumber * SECTOR_BYTES;
+        final int length = region.getInt(position);
+        if (length <= 0 || length > SECTOR_BYTES * sectorCount) {
+            return null;
+        }
+        final byte version = region.get(position + 4);
+        final ByteBuffer data = region.duplicate();
+        data.limit(position + 4 + length);
+        data.position(position + 5);
+        try {
+            final InputStream stream;
+            if (version == VERSION_GZIP) {
+                stream = new GZIPInputStream(new ByteBufferInputStream(data));
+            } else if (version == VERSION_DEFLATE) {
+                stream = new InflaterInputStream(new ByteBufferInputStream(data));
+            } else {
+                return null;
+            }
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(stream))) {
+                return WorldStorageUtil.readDataFromRegion(input, this.keys);
+            }
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    @Override
+    public DataContainer next() {
+        this.fill();
+        final CompletableFuture<DataContainer> future = this.pending.poll();
+        if (future == null) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            this.fill();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        this.fill();
+        return !this.pending.isEmpty();
+    }
+
+    @Override
+    public int available() {
+        int count = this.pending.size();
+        if (this.region != null) {
+            for (int i = this.index; i < CHUNKS_PER_REGION; i++) {
+                if (this.region.getInt(i * 4) != 0) {
+                    count++;
+                }
+            }
+        }
+        final List<Path> files = this.getFiles();
+        for (int i = this.fileIndex; i < files.size(); i++) {
+            count += countChunks(files.get(i));
+        }
+        return count;
+    }
+
+    private static int countChunks(Path file) {
+        final ByteBuffer region = map(file);
+        if (region == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < CHUNKS_PER_REGION; i++) {
+            if (region.getInt(i * 4) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void reset() {
+        for (CompletableFuture<DataContainer> future : this.pending) {
+            future.cancel(false);
+        }
+        this.pending.clear();
+        this.files = null;
+        this.fileIndex = 0;
+        this.region = null;
+        this.index = 0;
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+    }
+
+}
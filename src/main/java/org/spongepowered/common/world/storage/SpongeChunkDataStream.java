@@ -35,6 +35,8 @@
 import java.util.NoSuchElementException;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 public class SpongeChunkDataStream implements ChunkDataStream {
 
     private static class RegionFileItr {
@@ -69,9 +71,15 @@ public DataInputStream getStreamAt(int index) {
     private final Set<Path> openedFiles = Sets.newHashSet();
     private RegionFileItr regionFileItr;
     private final Path worldDir;
+    @Nullable private final Set<String> keys;
 
     public SpongeChunkDataStream(Path worldDir) {
+        this(worldDir, null);
+    }
+
+    public SpongeChunkDataStream(Path worldDir, @Nullable Set<String> keys) {
         this.worldDir = worldDir;
+        this.keys = keys;
     }
 
     private boolean itrAvailable() {
@@ -110,7 +118,7 @@ public DataContainer next() {
         this.regionFileItr.index = next + 1;
         DataInputStream stream = this.regionFileItr.getStreamAt(next);
         try {
-            return WorldStorageUtil.readDataFromRegion(stream);
+            return WorldStorageUtil.readDataFromRegion(stream, this.keys);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
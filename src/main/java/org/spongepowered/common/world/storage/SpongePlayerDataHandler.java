@@ -27,13 +27,11 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
-import net.minecraft.nbt.CompressedStreamTools;
-import net.minecraft.nbt.NBTTagCompound;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.common.SpongeImpl;
-import org.spongepowered.common.data.persistence.NbtTranslator;
+import org.spongepowered.common.data.persistence.NbtStreamTranslator;
 import org.spongepowered.common.world.WorldManager;
 
 import java.io.IOException;
@@ -86,18 +84,12 @@ public static void init() {
             }
             for (Path playerFile : playerFiles) {
                 if (Files.isReadable(playerFile)) {
-                    NBTTagCompound compound;
+                    DataContainer container;
 
                     try (final InputStream stream = Files.newInputStream(playerFile)) {
-                        compound = CompressedStreamTools.readCompressed(stream);
+                        container = NbtStreamTranslator.readCompressed(stream);
                     }
 
-                    // TODO Hard exception? Logger entry?
-                    if (compound == null) {
-                        throw new RuntimeException("Failed to decompress player data within [" + playerFile + "]!");
-                    }
-
-                    DataContainer container = NbtTranslator.getInstance().translateFrom(compound);
                     SpongePlayerData data = container.getSerializable(DataQuery.of(), SpongePlayerData.class).get();
                     handlerInstance.playerDataMap.put(data.uuid, data);
                 }
@@ -118,17 +110,13 @@ public static void savePlayer(UUID id) {
         SpongePlayerDataHandler instance = Holder.INSTANCE;
         @Nullable SpongePlayerData data = instance.playerDataMap.get(checkNotNull(id, "Player id cannot be null!"));
         if (data != null) {
-            saveFile(id.toString(), createCompoundFor(data));
+            saveFile(id.toString(), data.toContainer());
         } else {
             SpongeImpl.getLogger().error("Couldn't find a player data for the uuid: " + id.toString());
         }
     }
 
-    private static NBTTagCompound createCompoundFor(SpongePlayerData data) {
-        return NbtTranslator.getInstance().translateData(data.toContainer());
-    }
-
-    private static void saveFile(String id, NBTTagCompound compound) {
+    private static void saveFile(String id, DataContainer container) {
         checkState(Holder.INSTANCE.hasInitialized, "PlayerDataHandler hasn't initialized yet!");
         SpongePlayerDataHandler instance = Holder.INSTANCE;
         try {
@@ -140,7 +128,7 @@ private static void saveFile(String id, NBTTagCompound compound) {
             final Path finalDatPath = instance.playerDir.resolve(id + ".dat");
 
             try (OutputStream stream = Files.newOutputStream(newDatPath)) {
-                CompressedStreamTools.writeCompressed(compound, stream);
+                NbtStreamTranslator.writeCompressed(container, stream);
 
                 try {
                     Files.deleteIfExists(finalDatPath);
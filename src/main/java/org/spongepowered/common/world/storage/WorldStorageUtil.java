@@ -33,11 +33,16 @@
 import net.minecraft.world.chunk.storage.RegionFile;
 import net.minecraft.world.chunk.storage.RegionFileCache;
 import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.world.storage.ChunkDataStream;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.persistence.NbtStreamTranslator;
 import org.spongepowered.common.data.persistence.NbtTranslator;
 import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.world.ChunkPlayerTracker;
 
+import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
@@ -46,10 +51,17 @@
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.annotation.Nullable;
 
 public class WorldStorageUtil {
 
+    private static final int CHUNK_STREAM_PREFETCH_PER_THREAD = 4;
+    @Nullable private static ForkJoinPool chunkStreamPool;
+
     public static CompletableFuture<Boolean> doesChunkExist(WorldServer world, IChunkLoader chunkLoader, Vector3i chunkCoords) {
         int x = chunkCoords.getX();
         int z = chunkCoords.getZ();
@@ -74,11 +86,64 @@ public static CompletableFuture<Optional<DataContainer>> getChunkData(WorldServe
     }
 
     public static DataContainer readDataFromRegion(DataInputStream stream) throws IOException {
+        return readDataFromRegion(stream, null);
+    }
+
+    /**
+     * Reads the level data of a chunk from a region file stream.
+     *
+     * @param stream The chunk stream
+     * @param keys The top level keys of the level data to decode, or null to
+     *     decode everything
+     * @return The level data, or null if the chunk data is invalid
+     * @throws IOException If the chunk data could not be read
+     */
+    @Nullable
+    public static DataContainer readDataFromRegion(@Nullable DataInputStream stream, @Nullable Set<String> keys) throws IOException {
         if (stream == null) {
             return null;
         }
-        NBTTagCompound data = CompressedStreamTools.read(stream);
+        if (keys == null) {
+            return readDataFromChunkCompound(CompressedStreamTools.read(stream));
+        }
+        return readDataFromChunk(stream, keys);
+    }
+
+    /**
+     * Reads the level data of a chunk straight from the chunk stream,
+     * decoding only the given top level keys. The other entries are skipped
+     * without being decoded.
+     *
+     * @param input The chunk data input
+     * @param keys The top level keys of the level data to decode
+     * @return The level data, or null if the chunk data is invalid
+     * @throws IOException If the chunk data could not be read
+     */
+    @Nullable
+    public static DataContainer readDataFromChunk(DataInput input, Set<String> keys) throws IOException {
+        // Same checks as readDataFromChunkCompound, the sections are checked
+        // even if they are not decoded
+        final boolean[] hasSections = new boolean[1];
+        final Optional<DataContainer> level = NbtStreamTranslator.readChild(input, NbtDataUtil.CHUNK_DATA_LEVEL, (key, type) -> {
+            if (type == NbtDataUtil.TAG_LIST && key.equals(NbtDataUtil.CHUNK_DATA_SECTIONS)) {
+                hasSections[0] = true;
+            }
+            return keys.contains(key);
+        });
+        if (!level.isPresent() || !hasSections[0]) {
+            return null;
+        }
+        return level.get();
+    }
 
+    /**
+     * Translates the level data of a chunk read from a region file.
+     *
+     * @param data The chunk data
+     * @return The level data, or null if the chunk data is invalid
+     */
+    @Nullable
+    public static DataContainer readDataFromChunkCompound(NBTTagCompound data) {
         // Checks are based on AnvilChunkLoader#checkedReadChunkFromNBT
 
         if (!data.hasKey(NbtDataUtil.CHUNK_DATA_LEVEL, NbtDataUtil.TAG_COMPOUND)) {
@@ -91,6 +156,61 @@ public static DataContainer readDataFromRegion(DataInputStream stream) throws IO
         return NbtTranslator.getInstance().translateFrom(level);
     }
 
+    /**
+     * Creates the stream of all generated chunks of the world, which reads the
+     * region files in parallel if configured to do so.
+     *
+     * @param worldDir The world directory
+     * @return The chunk data stream
+     */
+    public static ChunkDataStream createChunkDataStream(Path worldDir) {
+        return createChunkDataStream(worldDir, null);
+    }
+
+    /**
+     * Creates the stream of all generated chunks of the world, which reads the
+     * region files in parallel if configured to do so.
+     *
+     * @param worldDir The world directory
+     * @param keys The top level keys of the chunk level data to decode, or
+     *     null to decode everything
+     * @return The chunk data stream
+     */
+    public static ChunkDataStream createChunkDataStream(Path worldDir, @Nullable Set<String> keys) {
+        final int parallelism = SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getChunkIOCategory().getChunkStreamParallelism();
+        if (parallelism <= 0) {
+            return new SpongeChunkDataStream(worldDir, keys);
+        }
+        return new ParallelChunkDataStream(worldDir, getChunkStreamPool(parallelism), parallelism * CHUNK_STREAM_PREFETCH_PER_THREAD, keys);
+    }
+
+    private static synchronized ForkJoinPool getChunkStreamPool(int parallelism) {
+        if (chunkStreamPool == null || chunkStreamPool.getParallelism() != parallelism) {
+            if (chunkStreamPool != null) {
+                // Chunks already submitted are still decoded
+                chunkStreamPool.shutdown();
+            }
+            chunkStreamPool = new ForkJoinPool(parallelism);
+        }
+        return chunkStreamPool;
+    }
+
+    /**
+     * Writes the block owner and notifier data of the chunk to the level
+     * compound of its chunk data.
+     *
+     * @param chunk The chunk
+     * @param compound The level compound
+     */
+    public static void writeTrackedPositions(IMixinChunk chunk, NBTTagCompound compound) {
+        final ChunkPlayerTracker playerTracker = chunk.getPlayerTracker();
+        if (playerTracker != null && !playerTracker.isEmpty()) {
+            NBTTagCompound trackedNbt = new NBTTagCompound();
+            playerTracker.writeToNBT(trackedNbt);
+            compound.setTag(NbtDataUtil.SPONGE_DATA, trackedNbt);
+        }
+    }
+
     public static Iterable<Path> listRegionFiles(Path worldDir) {
         try (DirectoryStream<Path> stream = Files.newDirectoryStream(worldDir.resolve("region"), "*.mca")) {
             return Lists.newArrayList(stream);
@@ -0,0 +1,130 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.junit.Assume;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Compares the bytes allocated per post for the cause of an event that is
+ * posted with the poster pushed to the cause stack, which is the pattern
+ * used by most of the event factory, between the cause stack manager and a
+ * stack that builds a new cause for every post.
+ *
+ * <p>This only prints its results, run it manually.</p>
+ */
+@Ignore("Benchmark, run manually")
+@RunWith(LaunchWrapperTestRunner.class)
+public class CauseStackBenchmark {
+
+    private static final int WARMUP = 20000;
+    private static final int ITERATIONS = 100000;
+
+    @Test
+    public void benchmarkCauseAllocations() {
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threadBean;
+        Assume.assumeTrue(allocations.isThreadAllocatedMemorySupported());
+
+        final SpongeCauseStackManager causeStackManager = SpongeImpl.getCauseStackManager();
+        final Object poster = new Object();
+        try (CauseStackManager.StackFrame frame = causeStackManager.pushCauseFrame()) {
+            causeStackManager.pushCause(this);
+            final BaselineCauseStack baseline = new BaselineCauseStack(causeStackManager.getCurrentContext(), this);
+
+            runManager(causeStackManager, poster, WARMUP);
+            runBaseline(baseline, poster, WARMUP);
+
+            final long threadId = Thread.currentThread().getId();
+            long start = allocations.getThreadAllocatedBytes(threadId);
+            runBaseline(baseline, poster, ITERATIONS);
+            final double rebuilt = (allocations.getThreadAllocatedBytes(threadId) - start) / (double) ITERATIONS;
+
+            start = allocations.getThreadAllocatedBytes(threadId);
+            runManager(causeStackManager, poster, ITERATIONS);
+            final double reused = (allocations.getThreadAllocatedBytes(threadId) - start) / (double) ITERATIONS;
+
+            System.out.println(String.format("Cause allocations per post: %.1f bytes rebuilt, %.1f bytes reused", rebuilt, reused));
+        }
+    }
+
+    private static void runManager(SpongeCauseStackManager causeStackManager, Object poster, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            causeStackManager.pushCause(poster);
+            causeStackManager.getCurrentCause();
+            causeStackManager.popCause();
+        }
+    }
+
+    private static void runBaseline(BaselineCauseStack baseline, Object poster, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            baseline.push(poster);
+            baseline.getCurrentCause();
+            baseline.pop();
+        }
+    }
+
+    /**
+     * A cause stack that keeps the context, but builds a new cause whenever
+     * the stack changed, like the cause stack manager did before causes
+     * were kept per depth.
+     */
+    private static final class BaselineCauseStack {
+
+        private final Deque<Object> cause = new ArrayDeque<>();
+        private final EventContext context;
+
+        BaselineCauseStack(EventContext context, Object root) {
+            this.context = context;
+            this.cause.push(root);
+        }
+
+        void push(Object object) {
+            this.cause.push(object);
+        }
+
+        void pop() {
+            this.cause.pop();
+        }
+
+        Cause getCurrentCause() {
+            return Cause.of(this.context, this.cause);
+        }
+    }
+
+}
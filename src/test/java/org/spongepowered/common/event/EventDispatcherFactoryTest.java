@@ -0,0 +1,92 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.logging.log4j.LogManager;
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventDispatcherFactoryTest {
+
+    private final EventDispatcherFactory factory = new EventDispatcherFactory("org.spongepowered.common.event.dispatcher",
+            LogManager.getLogger("EventDispatcherFactoryTest"));
+    private final PluginContainer plugin = mock(PluginContainer.class);
+
+    @Test
+    public void testDispatchOrder() throws Exception {
+        final List<Integer> calls = new ArrayList<>();
+        final List<RegisteredListener<?>> listeners = ImmutableList.of(
+                this.register(event -> calls.add(0)),
+                this.register(event -> calls.add(1)),
+                this.register(event -> calls.add(2)));
+
+        final EventDispatcher dispatcher = this.factory.create(EventFilterTest.TestEvent.class, listeners);
+        dispatcher.dispatch(new EventFilterTest.TestEvent(EventFilterTest.TEST_CAUSE));
+
+        Assert.assertEquals("Listeners were not called in order!", ImmutableList.of(0, 1, 2), calls);
+    }
+
+    @Test
+    public void testListenerException() throws Exception {
+        final List<Integer> calls = new ArrayList<>();
+        final List<RegisteredListener<?>> listeners = ImmutableList.of(
+                this.register(event -> {
+                    throw new IllegalStateException("Expected exception");
+                }),
+                this.register(event -> calls.add(1)));
+
+        final EventDispatcher dispatcher = this.factory.create(EventFilterTest.TestEvent.class, listeners);
+        dispatcher.dispatch(new EventFilterTest.TestEvent(EventFilterTest.TEST_CAUSE));
+
+        Assert.assertEquals("Listener after a failing listener was not called!", ImmutableList.of(1), calls);
+    }
+
+    @Test
+    public void testManyListeners() throws Exception {
+        final int[] calls = new int[1];
+        final List<RegisteredListener<?>> listeners = new ArrayList<>();
+        for (int i = 0; i < EventDispatcherFactory.MAX_LISTENERS; i++) {
+            listeners.add(this.register(event -> calls[0]++));
+        }
+
+        final EventDispatcher dispatcher = this.factory.create(EventFilterTest.TestEvent.class, listeners);
+        dispatcher.dispatch(new EventFilterTest.TestEvent(EventFilterTest.TEST_CAUSE));
+
+        Assert.assertEquals(EventDispatcherFactory.MAX_LISTENERS, calls[0]);
+    }
+
+    private RegisteredListener<EventFilterTest.TestEvent> register(UntrackedEventListener<EventFilterTest.TestEvent> listener) {
+        return new RegisteredListener<>(this.plugin, EventFilterTest.TestEvent.class, Order.DEFAULT, listener, false);
+    }
+
+}
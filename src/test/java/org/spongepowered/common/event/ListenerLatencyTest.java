@@ -0,0 +1,74 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class ListenerLatencyTest {
+
+    @Test
+    public void testBucketBounds() {
+        for (long value = 0; value < 1L << 20; value++) {
+            final int bucket = ListenerLatency.bucket(value);
+            Assert.assertTrue("Value " + value + " is above its bucket!", value <= ListenerLatency.highestValue(bucket));
+            if (bucket > 0) {
+                Assert.assertTrue("Value " + value + " is below its bucket!", value > ListenerLatency.highestValue(bucket - 1));
+            }
+        }
+        Assert.assertEquals(ListenerLatency.BUCKET_COUNT - 1, ListenerLatency.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testPercentile() {
+        final ListenerLatency latency = new ListenerLatency();
+        for (int i = 0; i < 99; i++) {
+            latency.record(TimeUnit.MICROSECONDS.toNanos(10));
+        }
+        latency.record(TimeUnit.MILLISECONDS.toNanos(20));
+
+        Assert.assertEquals(100, latency.getCount());
+        Assert.assertEquals(0.01, latency.getPercentile(0.5), 0.01 * 0.125);
+        Assert.assertEquals(0.01, latency.getPercentile(0.99), 0.01 * 0.125);
+        Assert.assertEquals(20, latency.getPercentile(1), 20 * 0.125);
+    }
+
+    @Test
+    public void testTickPercentile() {
+        final ListenerLatency latency = new ListenerLatency();
+        Assert.assertTrue(latency.recordTick(TimeUnit.MILLISECONDS.toNanos(8)));
+        Assert.assertFalse(latency.recordTick(TimeUnit.MILLISECONDS.toNanos(1)));
+
+        final long p99 = latency.pollTickPercentile(0.99);
+        Assert.assertTrue(p99 >= TimeUnit.MILLISECONDS.toNanos(8));
+        Assert.assertTrue(p99 <= TimeUnit.MILLISECONDS.toNanos(9));
+        // Polling clears the tick
+        Assert.assertEquals(0, latency.pollTickPercentile(0.99));
+        Assert.assertTrue(latency.recordTick(1));
+    }
+
+}
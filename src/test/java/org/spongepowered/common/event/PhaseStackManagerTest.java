@@ -29,6 +29,7 @@
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.cause.EventContextKeys;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
@@ -90,4 +91,49 @@ public void testPoppingFrameRemovesFrameContexts() throws Exception {
         Assert.assertFalse(causeStackManager.getContext(EventContextKeys.OWNER).isPresent());
     }
 
+    @Test
+    public void testPoppingCauseReusesCause() throws Exception {
+        final SpongeCauseStackManager causeStackManager = SpongeImpl.getCauseStackManager();
+
+        SpongeCauseStackManager.StackFrame frame = causeStackManager.pushCauseFrame();
+        causeStackManager.pushCause(1);
+        final Cause cause = causeStackManager.getCurrentCause();
+
+        causeStackManager.pushCause(2);
+        Assert.assertEquals(2, causeStackManager.getCurrentCause().root());
+
+        // Back at the same depth, the cause built earlier is still valid
+        causeStackManager.popCause();
+        Assert.assertSame(cause, causeStackManager.getCurrentCause());
+
+        // But not once the object at that depth changed
+        causeStackManager.popCause();
+        causeStackManager.pushCause(3);
+        Assert.assertEquals(3, causeStackManager.getCurrentCause().root());
+
+        causeStackManager.popCauseFrame(frame);
+    }
+
+    @Test
+    public void testPoppingFrameRestoresContext() throws Exception {
+        final SpongeCauseStackManager causeStackManager = SpongeImpl.getCauseStackManager();
+
+        User user = Mockito.mock(User.class);
+
+        SpongeCauseStackManager.StackFrame frame1 = causeStackManager.pushCauseFrame();
+        causeStackManager.pushCause(1);
+        causeStackManager.addContext(EventContextKeys.OWNER, user);
+        final Cause cause = causeStackManager.getCurrentCause();
+
+        SpongeCauseStackManager.StackFrame frame = causeStackManager.pushCauseFrame();
+        causeStackManager.removeContext(EventContextKeys.OWNER);
+        Assert.assertFalse(causeStackManager.getCurrentCause().getContext().get(EventContextKeys.OWNER).isPresent());
+
+        causeStackManager.popCauseFrame(frame);
+        Assert.assertSame(cause, causeStackManager.getCurrentCause());
+        Assert.assertEquals(user, causeStackManager.getCurrentCause().getContext().get(EventContextKeys.OWNER).get());
+
+        causeStackManager.popCauseFrame(frame1);
+    }
+
 }
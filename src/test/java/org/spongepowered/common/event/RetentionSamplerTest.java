@@ -0,0 +1,70 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RetentionSamplerTest {
+
+    @Test
+    public void testCollectedSampleIsNoLeak() {
+        final RetentionSampler sampler = new RetentionSampler(1, 1);
+        for (int i = 0; i < 3; i++) {
+            sampler.sample(new Object());
+            for (int attempt = 0; attempt < 10 && sampler.isSampling(); attempt++) {
+                System.gc();
+                assertFalse(sampler.check());
+            }
+            assertFalse(sampler.isSampling());
+        }
+    }
+
+    @Test
+    public void testRetainedSamplesAreLeaks() {
+        final AtomicLong collections = new AtomicLong();
+        final RetentionSampler sampler = new RetentionSampler(collections::get, 3, 2);
+        final Object first = new Object();
+        sampler.sample(first);
+        collections.addAndGet(2);
+        assertFalse(sampler.check());
+        collections.incrementAndGet();
+        // A single surviving sample may have been promoted to the old generation
+        assertFalse(sampler.check());
+        assertFalse(sampler.isSampling());
+
+        final Object second = new Object();
+        sampler.sample(second);
+        collections.addAndGet(3);
+        assertTrue(sampler.check());
+        // Keeps both samples referenced until here
+        assertTrue(first != second);
+    }
+
+}
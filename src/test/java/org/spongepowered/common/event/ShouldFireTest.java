@@ -28,6 +28,7 @@
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.spongepowered.api.event.Event;
 import org.spongepowered.api.event.EventManager;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.entity.SpawnEntityEvent;
@@ -109,6 +110,39 @@ public void testMultipleListeners() {
         Assert.assertFalse("SPAWN_ENTITY_EVENT_CUSTOM is not false!", ShouldFire.SPAWN_ENTITY_EVENT_CUSTOM);
     }
 
+    @Test
+    public void testSameEventListeners() {
+        SpawnListener first = new SpawnListener();
+        SpawnListener second = new SpawnListener();
+
+        this.eventManager.registerListeners(this.plugin, first);
+        this.eventManager.registerListeners(this.plugin, second);
+        this.eventManager.unregisterListeners(first);
+
+        Assert.assertTrue("SPAWN_ENTITY_EVENT is not true!", ShouldFire.SPAWN_ENTITY_EVENT);
+
+        this.eventManager.unregisterListeners(second);
+
+        Assert.assertFalse("SPAWN_ENTITY_EVENT is not false!", ShouldFire.SPAWN_ENTITY_EVENT);
+    }
+
+    @Test
+    public void testFlagTable() {
+        SubListener listener = new SubListener();
+
+        Assert.assertFalse("SpawnEntityEvent.Custom has listeners!", ShouldFire.hasListeners(SpawnEntityEvent.Custom.class));
+        this.eventManager.registerListeners(this.plugin, listener);
+        Assert.assertTrue("SpawnEntityEvent.Custom has no listeners!", ShouldFire.hasListeners(SpawnEntityEvent.Custom.class));
+        Assert.assertTrue("SpawnEntityEvent has no listeners!", ShouldFire.hasListeners(SpawnEntityEvent.class));
+        Assert.assertTrue("Event has no listeners!", ShouldFire.hasListeners(Event.class));
+        Assert.assertFalse("SpawnEntityEvent.ChunkLoad has listeners!", ShouldFire.hasListeners(SpawnEntityEvent.ChunkLoad.class));
+
+        this.eventManager.unregisterListeners(listener);
+        Assert.assertFalse("SpawnEntityEvent.Custom has listeners!", ShouldFire.hasListeners(SpawnEntityEvent.Custom.class));
+        Assert.assertFalse("SpawnEntityEvent has listeners!", ShouldFire.hasListeners(SpawnEntityEvent.class));
+        Assert.assertFalse("Event has listeners!", ShouldFire.hasListeners(Event.class));
+    }
+
     private static class SpawnListener {
 
         @Listener
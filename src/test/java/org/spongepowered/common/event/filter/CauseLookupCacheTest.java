@@ -0,0 +1,63 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.filter;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+
+import java.util.Optional;
+
+public class CauseLookupCacheTest {
+
+    @After
+    public void clear() {
+        CauseLookupCache.clear();
+    }
+
+    @Test
+    public void testSameCause() {
+        final Cause cause = Cause.of(EventContext.empty(), "root", 1, "last");
+
+        final Optional<?> first = CauseLookupCache.first(cause, String.class);
+        Assert.assertEquals(Optional.of("root"), first);
+        Assert.assertSame("The lookup was not reused!", first, CauseLookupCache.first(cause, String.class));
+        Assert.assertEquals(Optional.of("last"), CauseLookupCache.last(cause, String.class));
+        Assert.assertEquals(Optional.of(1), CauseLookupCache.first(cause, Integer.class));
+    }
+
+    @Test
+    public void testOtherCause() {
+        final Cause cause = Cause.of(EventContext.empty(), "root");
+        final Cause other = Cause.of(EventContext.empty(), 1);
+
+        Assert.assertEquals(Optional.of("root"), CauseLookupCache.first(cause, String.class));
+        Assert.assertEquals(Optional.empty(), CauseLookupCache.first(other, String.class));
+        Assert.assertEquals(Optional.of("root"), CauseLookupCache.first(cause, String.class));
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.persistence.data;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.persistence.NbtStreamTranslator;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+public class NbtStreamTranslationTest {
+
+    private static DataContainer createContainer() {
+        final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        container.set(DataQuery.of("foo"), "bar");
+        container.set(DataQuery.of("flag"), true);
+        container.set(DataQuery.of("my.dotted.key"), 1L);
+        container.set(DataQuery.of("nested", "value"), 7);
+        container.set(DataQuery.of("nested", "deeper", "bytes"), new byte[] {1, 2, 3});
+        container.set(DataQuery.of("nested", "deeper", "flag"), false);
+        container.set(DataQuery.of("list"), ImmutableList.of(1.0D, 2.0D));
+        container.set(DataQuery.of("ints"), new int[] {4, 5, 6});
+        return container;
+    }
+
+    private static byte[] write(DataView view) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            NbtStreamTranslator.write(view, output);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void testStreamMatchesCompound() throws IOException {
+        final DataContainer container = createContainer();
+        final NBTTagCompound compound = CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(write(container))));
+        assertEquals(NbtTranslator.getInstance().translateData(container), compound);
+    }
+
+    @Test
+    public void testReadCompound() throws IOException {
+        final DataContainer container = createContainer();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            CompressedStreamTools.write(NbtTranslator.getInstance().translateData(container), output);
+        }
+        assertEquals(container, NbtStreamTranslator.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+
+    @Test
+    public void testReadChild() throws IOException {
+        final DataContainer root = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        root.set(DataQuery.of("before"), ImmutableList.of("a", "b"));
+        root.set(DataQuery.of("child"), createContainer());
+        root.set(DataQuery.of("after"), new int[] {1, 2});
+        final DataContainer expected = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        expected.set(DataQuery.of("foo"), "bar");
+        expected.set(DataQuery.of("nested", "value"), 7);
+        expected.set(DataQuery.of("nested", "deeper", "bytes"), new byte[] {1, 2, 3});
+        expected.set(DataQuery.of("nested", "deeper", "flag"), false);
+        final ImmutableSet<String> keys = ImmutableSet.of("foo", "nested");
+        assertEquals(Optional.of(expected),
+            NbtStreamTranslator.readChild(new DataInputStream(new ByteArrayInputStream(write(root))), "child", (key, type) -> keys.contains(key)));
+    }
+
+    private static byte[] writeNested(int depth) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(NbtDataUtil.TAG_COMPOUND);
+            output.writeUTF("");
+            for (int i = 0; i < depth; i++) {
+                output.writeByte(NbtDataUtil.TAG_COMPOUND);
+                output.writeUTF("a");
+            }
+            for (int i = 0; i <= depth; i++) {
+                output.writeByte(NbtDataUtil.TAG_END);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadTooDeep() throws IOException {
+        NbtStreamTranslator.read(new DataInputStream(new ByteArrayInputStream(writeNested(600))));
+    }
+
+    private static byte[] writeByteArrayHeader(int length) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(NbtDataUtil.TAG_COMPOUND);
+            output.writeUTF("");
+            output.writeByte(NbtDataUtil.TAG_BYTE_ARRAY);
+            output.writeUTF("bytes");
+            output.writeInt(length);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadTooBig() throws IOException {
+        NbtStreamTranslator.read(new DataInputStream(new ByteArrayInputStream(writeByteArrayHeader(Integer.MAX_VALUE))));
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadNegativeLength() throws IOException {
+        NbtStreamTranslator.read(new DataInputStream(new ByteArrayInputStream(writeByteArrayHeader(-1))));
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadUnknownType() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(NbtDataUtil.TAG_COMPOUND);
+            output.writeUTF("");
+            output.writeByte(42);
+            output.writeUTF("unknown");
+            output.writeByte(NbtDataUtil.TAG_END);
+        }
+        NbtStreamTranslator.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+}
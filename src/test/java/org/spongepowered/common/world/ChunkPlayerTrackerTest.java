@@ -0,0 +1,117 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.junit.Test;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+public class ChunkPlayerTrackerTest {
+
+    @Test
+    public void testSetAndRemove() {
+        ChunkPlayerTracker tracker = new ChunkPlayerTracker();
+        tracker.setOwner(3, 70, 9, 2);
+        tracker.setNotifier(3, 70, 9, 5);
+        assertEquals(2, tracker.getOwner(3, 70, 9));
+        assertEquals(5, tracker.getNotifier(3, 70, 9));
+        assertEquals(ChunkPlayerTracker.UNSET, tracker.getOwner(3, 71, 9));
+
+        tracker.remove(3, 70, 9);
+        assertFalse(tracker.isTracked(3, 70, 9));
+        assertTrue(tracker.isEmpty());
+    }
+
+    @Test
+    public void testDenseSection() {
+        ChunkPlayerTracker tracker = new ChunkPlayerTracker();
+        for (int y = 16; y < 32; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    tracker.set(x, y, z, x, z);
+                }
+            }
+        }
+        assertEquals(4096, tracker.size());
+        assertEquals(7, tracker.getOwner(7, 20, 11));
+        assertEquals(11, tracker.getNotifier(7, 20, 11));
+
+        tracker.remove(7, 20, 11);
+        assertEquals(4095, tracker.size());
+        assertFalse(tracker.isTracked(7, 20, 11));
+    }
+
+    @Test
+    public void testNbtRoundTrip() {
+        ChunkPlayerTracker tracker = new ChunkPlayerTracker();
+        tracker.set(0, 0, 0, 1, 1);
+        tracker.set(15, 255, 15, 1, 4);
+        tracker.set(4, 300, 8, 6, ChunkPlayerTracker.UNSET);
+        tracker.set(5, -3, 5, 2, 2);
+        tracker.setOwner(0, 0, 0, 3);
+
+        NBTTagCompound compound = new NBTTagCompound();
+        tracker.writeToNBT(compound);
+        ChunkPlayerTracker read = new ChunkPlayerTracker();
+        read.readFromNBT(compound);
+
+        assertEquals(4, read.size());
+        assertEquals(3, read.getOwner(0, 0, 0));
+        assertEquals(1, read.getNotifier(0, 0, 0));
+        assertEquals(4, read.getNotifier(15, 255, 15));
+        assertEquals(6, read.getOwner(4, 300, 8));
+        assertEquals(ChunkPlayerTracker.UNSET, read.getNotifier(4, 300, 8));
+        assertEquals(2, read.getOwner(5, -3, 5));
+    }
+
+    @Test
+    public void testLegacyPositions() {
+        NBTTagList positions = new NBTTagList();
+        NBTTagCompound shortPos = new NBTTagCompound();
+        shortPos.setInteger("owner", 1);
+        shortPos.setInteger("notifier", 2);
+        shortPos.setShort("pos", (short) (3 | 64 << 4 | 9 << 12));
+        positions.appendTag(shortPos);
+        NBTTagCompound intPos = new NBTTagCompound();
+        intPos.setInteger("uuid", 7);
+        intPos.setInteger("ipos", 1 | 300 << 4 | 2 << 28);
+        positions.appendTag(intPos);
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setTag(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, positions);
+
+        ChunkPlayerTracker tracker = new ChunkPlayerTracker();
+        tracker.readFromNBT(compound);
+
+        assertEquals(1, tracker.getOwner(3, 64, 9));
+        assertEquals(2, tracker.getNotifier(3, 64, 9));
+        assertEquals(7, tracker.getOwner(1, 300, 2));
+        assertEquals(ChunkPlayerTracker.UNSET, tracker.getNotifier(1, 300, 2));
+    }
+}